@@ -0,0 +1,80 @@
+package com.sprints.onlineVotingSystem.benchmark;
+
+import com.sprints.onlineVotingSystem.OnlineVotingSystemApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Boots the application without a web server against a private in-memory H2 database
+ * and seeds it with plain SQL, so seeding millions of rows does not go through Hibernate.
+ */
+final class BenchmarkDatabase {
+
+    static final int CANDIDATES_PER_ELECTION = 5;
+
+    private BenchmarkDatabase() {
+    }
+
+    static ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(OnlineVotingSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // command line arguments, so they override application-test.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.sprints.onlineVotingSystem=WARN",
+                        // keep background jobs out of the measurements
+                        "--voting.turnout.reconcile-interval=PT24H",
+                        "--voting.results-stream.interval-ms=86400000");
+    }
+
+    /**
+     * Inserts voters voter1@bench.test .. voterN@bench.test, all in one city
+     */
+    static void seedVoters(JdbcTemplate jdbc, int voters) {
+        jdbc.update("INSERT INTO city (id, name, normalized_name) VALUES (NEXT VALUE FOR city_seq, 'Bench City', 'bench city')");
+        Integer cityId = jdbc.queryForObject("SELECT id FROM city WHERE normalized_name = 'bench city'", Integer.class);
+        jdbc.update("INSERT INTO users (id, name, email, password_hash, role, city, city_id) " +
+                "SELECT NEXT VALUE FOR users_seq, 'Voter ' || X, 'voter' || X || '@bench.test', 'hash', 'VOTER', 'Bench City', ? " +
+                "FROM SYSTEM_RANGE(1, ?)", cityId, voters);
+    }
+
+    /**
+     * Inserts open elections with CANDIDATES_PER_ELECTION candidates each
+     *
+     * @return the election IDs in ascending order
+     */
+    static List<Long> seedElections(JdbcTemplate jdbc, String titlePrefix, int elections) {
+        LocalDate today = LocalDate.now();
+        jdbc.update("INSERT INTO election (id, title, start_date, end_date) " +
+                "SELECT NEXT VALUE FOR election_seq, ? || X, ?, ? FROM SYSTEM_RANGE(1, ?)",
+                titlePrefix, today.minusDays(1), today.plusDays(1), elections);
+        List<Long> ids = jdbc.queryForList("SELECT id FROM election WHERE title LIKE ? ORDER BY id", Long.class, titlePrefix + "%");
+        jdbc.update("INSERT INTO candidate (id, name, election_id) " +
+                "SELECT NEXT VALUE FOR candidate_seq, 'Candidate ' || e.id || '-' || r.X, e.id " +
+                "FROM election e CROSS JOIN SYSTEM_RANGE(1, ?) r WHERE e.title LIKE ?",
+                CANDIDATES_PER_ELECTION, titlePrefix + "%");
+        return ids;
+    }
+
+    /**
+     * Lets every voter vote once in each of the given elections, spread evenly over the candidates,
+     * until the given number of votes is stored
+     */
+    static void seedVotes(JdbcTemplate jdbc, String electionTitlePrefix, long votes) {
+        jdbc.update("INSERT INTO vote (id, vote_time, candidate_id, election_id, voter_id) " +
+                "SELECT NEXT VALUE FOR vote_seq, CURRENT_TIMESTAMP, c.id, c.election_id, u.id " +
+                "FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS rn FROM users) u " +
+                "JOIN (SELECT c.id, c.election_id, ROW_NUMBER() OVER (PARTITION BY c.election_id ORDER BY c.id) AS rn " +
+                "      FROM candidate c JOIN election e ON e.id = c.election_id WHERE e.title LIKE ?) c " +
+                "ON MOD(u.rn, " + CANDIDATES_PER_ELECTION + ") + 1 = c.rn " +
+                "LIMIT ?", electionTitlePrefix + "%", votes);
+        jdbc.execute("ANALYZE");
+    }
+}
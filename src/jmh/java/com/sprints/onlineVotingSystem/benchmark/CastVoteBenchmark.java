@@ -0,0 +1,76 @@
+package com.sprints.onlineVotingSystem.benchmark;
+
+import com.sprints.onlineVotingSystem.domain.Vote;
+import com.sprints.onlineVotingSystem.dto.VoteRequestDTO;
+import com.sprints.onlineVotingSystem.service.VotingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One successful VotingService.castVote per operation, through the Spring proxy and its transaction,
+ * against a database that already holds the votes of other elections. Every operation uses a
+ * voter who has not voted yet; the benchmark election's votes are removed before each iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CastVoteBenchmark {
+
+    @Param({"200000"})
+    public int voters;
+
+    // votes already stored for other elections
+    @Param({"1000000"})
+    public long existingVotes;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+    private VotingService votingService;
+    private Long electionId;
+    private List<Long> candidateIds;
+    private final AtomicInteger nextVoter = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("castvote");
+        jdbc = context.getBean(JdbcTemplate.class);
+        votingService = context.getBean(VotingService.class);
+
+        BenchmarkDatabase.seedVoters(jdbc, voters);
+        int pastElections = (int) Math.max(1, (existingVotes + voters - 1) / voters);
+        BenchmarkDatabase.seedElections(jdbc, "Past Election ", pastElections);
+        BenchmarkDatabase.seedVotes(jdbc, "Past Election ", existingVotes);
+
+        electionId = BenchmarkDatabase.seedElections(jdbc, "Bench Election ", 1).get(0);
+        candidateIds = jdbc.queryForList("SELECT id FROM candidate WHERE election_id = ? ORDER BY id", Long.class, electionId);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearBenchmarkVotes() {
+        jdbc.update("DELETE FROM vote WHERE election_id = ?", electionId);
+        nextVoter.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Vote castVote() {
+        int voter = nextVoter.incrementAndGet();
+        if (voter > voters) {
+            throw new IllegalStateException("Every voter has voted in this iteration, raise the voters parameter");
+        }
+        VoteRequestDTO request = new VoteRequestDTO(candidateIds.get(voter % candidateIds.size()), electionId);
+        return votingService.castVote(request, "voter" + voter + "@bench.test");
+    }
+}
@@ -0,0 +1,67 @@
+package com.sprints.onlineVotingSystem.benchmark;
+
+import com.sprints.onlineVotingSystem.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and the per-request checks JwtFilter runs. The same token repeated is served
+ * from the claims cache; cycling through many more distinct tokens than the cache holds mostly
+ * verifies signatures.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final int DISTINCT_TOKENS = 100_000;
+
+    // jwt.cache.max-size
+    @Param({"10000"})
+    public long cacheMaxSize;
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmark-secret-key-that-is-long-enough-for-hs256");
+        ReflectionTestUtils.setField(jwtUtil, "expirationTime", 3600000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", cacheMaxSize);
+        jwtUtil.init();
+        token = jwtUtil.generateToken("voter1@bench.test", "VOTER");
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = jwtUtil.generateToken("voter" + i + "@bench.test", "VOTER");
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("voter1@bench.test", "VOTER");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateDistinctTokens() {
+        next = (next + 1) % DISTINCT_TOKENS;
+        return jwtUtil.validateToken(tokens[next]);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+}
@@ -0,0 +1,212 @@
+package com.sprints.onlineVotingSystem.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.sprints.onlineVotingSystem.controller.VoterController;
+import com.sprints.onlineVotingSystem.service.VotingService;
+import com.sprints.onlineVotingSystem.util.EventSamplingFilter;
+import com.sprints.onlineVotingSystem.util.LogEvents;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The log lines of one successful vote request, written to a file the way the console appender
+ * writes to stdout (one write per event). Each configuration is the logging of a deployment:
+ * <ul>
+ *   <li>{@code debug-text}: the statements castVote and its controller logged before the prod
+ *       profile, at the DEBUG level of application.properties, formatted and written by the request thread</li>
+ *   <li>{@code info-text}: the current statements at INFO, formatted and written by the request thread</li>
+ *   <li>{@code json-async}: the prod profile with sampling disabled</li>
+ *   <li>{@code json-async-sampled}: the prod profile, keeping one vote.cast event in 100</li>
+ * </ul>
+ * Spring Security's DEBUG output is not included, so the debug-text figures understate the old default.
+ * The bytes and lines written per vote are printed when a trial ends.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private static final String TEXT_PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 4242 --- [%t] %-40.40logger{39} : %m%n";
+
+    @Param({"debug-text", "info-text", "json-async", "json-async-sampled"})
+    public String config;
+
+    // CPU work standing in for the rest of the request, so a background writer is not simply overrun
+    @Param({"20000"})
+    public long requestWork;
+
+    private LoggerContext loggerContext;
+    private Path logFile;
+    private CountingOutputStream output;
+    private Logger controllerLog;
+    private Logger serviceLog;
+    private boolean oldStatements;
+    private final LongAdder votes = new LongAdder();
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws IOException {
+        loggerContext = new LoggerContext();
+        // the async appender copies the MDC of each event, the global context gets its adapter from SLF4J
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        // the structured encoder reads its settings from the Spring environment Boot normally registers
+        loggerContext.putObject(Environment.class.getName(), new StandardEnvironment());
+        loggerContext.start();
+
+        logFile = Files.createTempFile("logging-benchmark", ".log");
+        output = new CountingOutputStream(new FileOutputStream(logFile.toFile()));
+        oldStatements = config.equals("debug-text");
+        boolean json = config.startsWith("json");
+
+        OutputStreamAppender<ILoggingEvent> writer = new OutputStreamAppender<>();
+        writer.setContext(loggerContext);
+        writer.setName("OUTPUT");
+        writer.setEncoder(json ? jsonEncoder() : textEncoder());
+        writer.setOutputStream(output);
+        writer.start();
+
+        Appender<ILoggingEvent> appender = writer;
+        if (json) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(loggerContext);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(writer);
+            if (config.endsWith("sampled")) {
+                EventSamplingFilter sampling = new EventSamplingFilter();
+                sampling.setContext(loggerContext);
+                sampling.setRates(LogEvents.VOTE_CAST + "=100");
+                sampling.start();
+                async.addFilter(sampling);
+            }
+            async.start();
+            appender = async;
+        }
+
+        Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+        Logger applicationLog = loggerContext.getLogger("com.sprints.onlineVotingSystem");
+        applicationLog.setLevel(oldStatements ? Level.DEBUG : Level.INFO);
+        controllerLog = loggerContext.getLogger(VoterController.class);
+        serviceLog = loggerContext.getLogger(VotingService.class);
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() throws IOException {
+        // stopping the context drains the async queue first
+        loggerContext.stop();
+        output.close();
+        long count = Math.max(1, votes.sum());
+        System.out.printf("%n%s: %.1f bytes and %.3f lines written per vote (%,d votes, %,d lines)%n",
+                config, (double) output.bytes / count, (double) output.lines / count, votes.sum(), output.lines);
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void castVote() {
+        long voter = votes.sum() % 200_000;
+        String voterEmail = "voter" + voter + "@bench.test";
+        Long candidateId = voter % 5 + 1;
+        Long electionId = 1L;
+        if (oldStatements) {
+            controllerLog.info("Voter {} attempting to cast vote for candidate {} in election {}",
+                    voterEmail, candidateId, electionId);
+            serviceLog.info("Voter {} attempting to cast vote for candidate {} in election {}",
+                    voterEmail, candidateId, electionId);
+            serviceLog.debug("Voter {} is assigned to city: {}", voterEmail, "Cairo");
+            serviceLog.debug("Voting window validation passed for election: {}", "Presidential Election 2024");
+            Blackhole.consumeCPU(requestWork);
+            serviceLog.info("Vote successfully cast by voter {} for candidate {} in election {}",
+                    voterEmail, "Candidate " + candidateId, "Presidential Election 2024");
+        } else {
+            controllerLog.debug("Voter {} attempting to cast vote for candidate {} in election {}",
+                    voterEmail, candidateId, electionId);
+            serviceLog.debug("Voter {} attempting to cast vote for candidate {} in election {}",
+                    voterEmail, candidateId, electionId);
+            serviceLog.debug("Voter {} is assigned to city: {}", voterEmail, "Cairo");
+            serviceLog.debug("Voting window validation passed for election: {}", "Presidential Election 2024");
+            Blackhole.consumeCPU(requestWork);
+            serviceLog.atInfo().addKeyValue(LogEvents.EVENT, LogEvents.VOTE_CAST)
+                    .log("Vote successfully cast by voter {} for candidate {} in election {}",
+                            voterEmail, candidateId, electionId);
+        }
+        votes.increment();
+    }
+
+    private Encoder<ILoggingEvent> textEncoder() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(TEXT_PATTERN);
+        encoder.setCharset(StandardCharsets.UTF_8);
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> jsonEncoder() {
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setFormat("logstash");
+        encoder.setCharset(StandardCharsets.UTF_8);
+        encoder.start();
+        return encoder;
+    }
+
+    /**
+     * Counts what the appender writes; only the appender's single writer thread touches it
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long bytes;
+        private long lines;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.sprints.onlineVotingSystem.benchmark;
+
+import com.sprints.onlineVotingSystem.dto.CandidateResultDTO;
+import com.sprints.onlineVotingSystem.repository.VoteRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The grouped count behind GET /admin/results before the vote tally is loaded.
+ * The 10M case needs several GB of heap for the in-memory database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+@State(Scope.Benchmark)
+public class ResultsQueryBenchmark {
+
+    private static final int MAX_VOTERS = 100_000;
+
+    @Param({"10000", "1000000", "10000000"})
+    public long votes;
+
+    private ConfigurableApplicationContext context;
+    private VoteRepository voteRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("results");
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        voteRepository = context.getBean(VoteRepository.class);
+
+        int voters = (int) Math.min(votes, MAX_VOTERS);
+        int elections = (int) ((votes + voters - 1) / voters);
+        BenchmarkDatabase.seedVoters(jdbc, voters);
+        BenchmarkDatabase.seedElections(jdbc, "Results Election ", elections);
+        BenchmarkDatabase.seedVotes(jdbc, "Results Election ", votes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CandidateResultDTO> getCandidateVoteCounts() {
+        return voteRepository.getCandidateVoteCounts();
+    }
+}
@@ -0,0 +1,92 @@
+package com.sprints.onlineVotingSystem.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters of one endpoint.
+ * <p>
+ * Latency is recorded in microseconds from the moment the request was scheduled to be sent,
+ * not from when it actually left, so time a request spent waiting behind a stalled server
+ * is part of its latency instead of being silently skipped (coordinated omission).
+ */
+final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final String name;
+    private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void recordResponse(int status, long scheduledNanos, long completedNanos) {
+        latency.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (completedNanos - scheduledNanos) / 1000));
+        statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+    }
+
+    /**
+     * Counts a request that got no response: a connection error or a client timeout
+     */
+    void recordFailure(long scheduledNanos, long completedNanos) {
+        latency.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (completedNanos - scheduledNanos) / 1000));
+        failures.increment();
+    }
+
+    /**
+     * Counts a request that was not sent because too many were already in flight
+     */
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    long completed() {
+        return latency.getTotalCount();
+    }
+
+    long successful() {
+        return statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() >= 200 && entry.getKey() < 300)
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    Map<Integer, Long> statuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    /**
+     * @return the latency at the given percentile in milliseconds
+     */
+    double percentileMillis(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double maxMillis() {
+        return latency.getMaxValue() / 1000.0;
+    }
+}
@@ -0,0 +1,120 @@
+package com.sprints.onlineVotingSystem.loadtest;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options of the load test, given as {@code --name=value}.
+ * Options whose name contains a dot (e.g. {@code --server.tomcat.threads.max=400})
+ * are passed on to the application under test instead.
+ */
+final class LoadTestOptions {
+
+    /** Requests per second over all endpoints, not counting login bursts */
+    final int rate;
+    final int durationSeconds;
+    final int warmupSeconds;
+    /** Threads that schedule requests; each one sends rate / generators requests per second */
+    final int generators;
+    /** Requests allowed in flight before new ones are counted as dropped */
+    final int maxInFlight;
+    final int requestTimeoutSeconds;
+    final long seed;
+
+    final int voters;
+    final int elections;
+    final int candidatesPerElection;
+    final int cities;
+
+    /** Relative weights of the steady request mix */
+    final int loginWeight;
+    final int candidatesWeight;
+    final int voteWeight;
+    final int resultsWeight;
+
+    /** Logins fired at the same instant when the polls open and then every burst interval */
+    final int loginBurst;
+    final int loginBurstIntervalSeconds;
+
+    final Path report;
+    final Map<String, String> applicationProperties;
+
+    private LoadTestOptions(Map<String, String> options, Map<String, String> applicationProperties) {
+        this.rate = intOption(options, "rate", 2000);
+        this.durationSeconds = intOption(options, "duration", 60);
+        this.warmupSeconds = intOption(options, "warmup", 15);
+        this.generators = intOption(options, "generators", Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 4)));
+        this.maxInFlight = intOption(options, "max-in-flight", 2000);
+        this.requestTimeoutSeconds = intOption(options, "request-timeout", 30);
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.voters = intOption(options, "voters", 200_000);
+        this.elections = intOption(options, "elections", 3);
+        this.candidatesPerElection = intOption(options, "candidates", 5);
+        this.cities = intOption(options, "cities", 20);
+
+        Map<String, Integer> mix = parseMix(options.getOrDefault("mix", "login:5,candidates:50,vote:35,results:10"));
+        this.loginWeight = mix.getOrDefault("login", 0);
+        this.candidatesWeight = mix.getOrDefault("candidates", 0);
+        this.voteWeight = mix.getOrDefault("vote", 0);
+        this.resultsWeight = mix.getOrDefault("results", 0);
+        if (loginWeight + candidatesWeight + voteWeight + resultsWeight <= 0) {
+            throw new IllegalArgumentException("--mix must give at least one endpoint a positive weight");
+        }
+
+        this.loginBurst = intOption(options, "login-burst", 500);
+        this.loginBurstIntervalSeconds = intOption(options, "login-burst-interval", 30);
+        if (rate == 0 || generators == 0) {
+            throw new IllegalArgumentException("--rate and --generators must be positive");
+        }
+        this.report = Path.of(options.getOrDefault("report", "target/loadtest-report.json"));
+        this.applicationProperties = applicationProperties;
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        Map<String, String> applicationProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue; // an empty -Dloadtest.args
+            }
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            (name.contains(".") ? applicationProperties : options).put(name, value);
+        }
+        return new LoadTestOptions(options, applicationProperties);
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        int parsed = Integer.parseInt(value);
+        if (parsed < 0) {
+            throw new IllegalArgumentException("--" + name + " cannot be negative");
+        }
+        return parsed;
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight in --mix but got: " + entry);
+            }
+            String endpoint = parts[0].trim();
+            if (!List.of("login", "candidates", "vote", "results").contains(endpoint)) {
+                throw new IllegalArgumentException("Unknown endpoint in --mix: " + endpoint);
+            }
+            weights.put(endpoint, Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
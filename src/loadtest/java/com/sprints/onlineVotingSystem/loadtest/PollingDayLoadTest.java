@@ -0,0 +1,338 @@
+package com.sprints.onlineVotingSystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays polling-day traffic against the application over HTTP and reports latency
+ * percentiles and throughput per endpoint.
+ * <p>
+ * Requests are sent at a fixed rate (an open workload), the way independent voters arrive,
+ * rather than by a fixed number of users that each wait for their previous response: when the
+ * application slows down the queue builds up and shows in the latencies instead of the load
+ * quietly dropping. Bursts of logins are added on top of the steady mix when the polls open and
+ * then every {@code --login-burst-interval} seconds. The run is reproducible for a given {@code --seed}.
+ * <p>
+ * Run with {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--rate=3000 --duration=60"}.
+ */
+public final class PollingDayLoadTest {
+
+    enum Endpoint {
+        LOGIN("POST /auth/voter/login"),
+        CANDIDATES("GET /api/voters/candidates"),
+        VOTE("POST /api/voters/vote"),
+        RESULTS("GET /admin/elections/{id}/results");
+
+        private final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+    }
+
+    private final LoadTestOptions options;
+    private final PollingStation station;
+    private final String baseUrl;
+    private final ExecutorService clientExecutor;
+    private final HttpClient client;
+    private final Semaphore inFlight;
+
+    private final String[] voterTokens;
+    private final String adminToken;
+    private final AtomicLong nextBallot = new AtomicLong();
+    private final AtomicBoolean ballotsExhausted = new AtomicBoolean();
+    private final AtomicLong sent = new AtomicLong();
+
+    private PollingDayLoadTest(LoadTestOptions options, PollingStation station) {
+        this.options = options;
+        this.station = station;
+        this.baseUrl = "http://localhost:" + station.port();
+        AtomicInteger threads = new AtomicInteger();
+        this.clientExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-client-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(options.requestTimeoutSeconds))
+                .executor(clientExecutor)
+                .build();
+        this.inFlight = new Semaphore(options.maxInFlight);
+
+        // tokens of voters that logged in before the measured window
+        this.voterTokens = new String[station.voters() + 1];
+        for (int voter = 1; voter <= station.voters(); voter++) {
+            voterTokens[voter] = station.token(PollingStation.voterEmail(voter), "VOTER");
+        }
+        this.adminToken = station.token(PollingStation.ADMIN_EMAIL, "ADMIN");
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (PollingStation station = PollingStation.open(options)) {
+            new PollingDayLoadTest(options, station).run();
+        }
+    }
+
+    private void run() throws InterruptedException, IOException {
+        System.out.printf("Target %s, %d req/s for %d s after a %d s warmup, %d logins every %d s, %d generator threads%n",
+                baseUrl, options.rate, options.durationSeconds, options.warmupSeconds,
+                options.loginBurst, options.loginBurstIntervalSeconds, options.generators);
+
+        if (options.warmupSeconds > 0) {
+            runPhase(newStats(), options.warmupSeconds, false);
+            awaitInFlight();
+        }
+        Map<Endpoint, EndpointStats> measured = newStats();
+        sent.set(0);
+        runPhase(measured, options.durationSeconds, true);
+        boolean drained = awaitInFlight();
+
+        report(measured, drained);
+        clientExecutor.shutdownNow();
+    }
+
+    private void runPhase(Map<Endpoint, EndpointStats> stats, int seconds, boolean withBursts) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        int generators = Math.min(options.generators, options.rate);
+        List<Thread> threads = new ArrayList<>(generators);
+        for (int i = 0; i < generators; i++) {
+            int share = options.rate / generators + (i < options.rate % generators ? 1 : 0);
+            Random random = new Random(options.seed * 31 + i + (withBursts ? 1000 : 0));
+            boolean bursts = withBursts && i == 0 && options.loginBurst > 0;
+            Thread thread = new Thread(() -> generate(stats, random, share, start, end, bursts), "loadtest-generator-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Sends requests at the given rate until the end of the phase. Each request is stamped with
+     * the time it was due, so a generator that falls behind sends the overdue requests at once
+     * and their wait counts as latency.
+     */
+    private void generate(Map<Endpoint, EndpointStats> stats, Random random, int rate,
+                          long start, long end, boolean bursts) {
+        double intervalNanos = 1e9 / rate;
+        long burstIntervalNanos = TimeUnit.SECONDS.toNanos(Math.max(1, options.loginBurstIntervalSeconds));
+        long nextBurst = bursts ? start : Long.MAX_VALUE;
+        for (long i = 0; ; i++) {
+            long due = start + (long) (i * intervalNanos);
+            if (due >= end) {
+                return;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (nextBurst <= due) {
+                for (int login = 0; login < options.loginBurst; login++) {
+                    send(stats, Endpoint.LOGIN, random, nextBurst);
+                }
+                nextBurst += burstIntervalNanos;
+            }
+            send(stats, pick(random), random, due);
+        }
+    }
+
+    private Endpoint pick(Random random) {
+        int ticket = random.nextInt(options.loginWeight + options.candidatesWeight + options.voteWeight + options.resultsWeight);
+        if ((ticket -= options.loginWeight) < 0) {
+            return Endpoint.LOGIN;
+        }
+        if ((ticket -= options.candidatesWeight) < 0) {
+            return Endpoint.CANDIDATES;
+        }
+        if ((ticket -= options.voteWeight) < 0) {
+            return Endpoint.VOTE;
+        }
+        return Endpoint.RESULTS;
+    }
+
+    private void send(Map<Endpoint, EndpointStats> stats, Endpoint endpoint, Random random, long due) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        if (!inFlight.tryAcquire()) {
+            endpointStats.recordDropped();
+            return;
+        }
+        sent.incrementAndGet();
+        client.sendAsync(request(endpoint, random), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long completed = System.nanoTime();
+                    if (error != null) {
+                        endpointStats.recordFailure(due, completed);
+                    } else {
+                        endpointStats.recordResponse(response.statusCode(), due, completed);
+                    }
+                    inFlight.release();
+                });
+    }
+
+    private HttpRequest request(Endpoint endpoint, Random random) {
+        List<Long> electionIds = station.electionIds();
+        switch (endpoint) {
+            case LOGIN: {
+                String email = PollingStation.voterEmail(1 + random.nextInt(station.voters()));
+                return post("/auth/voter/login", null,
+                        "{\"email\":\"" + email + "\",\"password\":\"" + PollingStation.PASSWORD + "\"}");
+            }
+            case CANDIDATES: {
+                Long electionId = electionIds.get(random.nextInt(electionIds.size()));
+                return get("/api/voters/candidates?electionId=" + electionId, voterTokens[1 + random.nextInt(station.voters())]);
+            }
+            case VOTE: {
+                // every voter votes once in each election, in order, so each ballot is a first vote
+                long ballot = nextBallot.getAndIncrement();
+                long capacity = (long) station.voters() * electionIds.size();
+                if (ballot >= capacity && ballotsExhausted.compareAndSet(false, true)) {
+                    System.out.println("Every voter has voted in every election, further votes are rejected as duplicates;"
+                            + " raise --voters to keep measuring first votes");
+                }
+                int voter = (int) (ballot % station.voters()) + 1;
+                Long electionId = electionIds.get((int) ((ballot / station.voters()) % electionIds.size()));
+                List<Long> candidates = station.candidateIds(electionId);
+                Long candidateId = candidates.get(random.nextInt(candidates.size()));
+                return post("/api/voters/vote?voterEmail=" + PollingStation.voterEmail(voter), voterTokens[voter],
+                        "{\"candidateId\":" + candidateId + ",\"electionId\":" + electionId + "}");
+            }
+            case RESULTS: {
+                Long electionId = electionIds.get(random.nextInt(electionIds.size()));
+                return get("/admin/elections/" + electionId + "/results", adminToken);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown endpoint " + endpoint);
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return builder(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String json) {
+        return builder(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(options.requestTimeoutSeconds));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    /**
+     * Waits for the requests still in flight, at most one request timeout
+     *
+     * @return false if some requests were still outstanding
+     */
+    private boolean awaitInFlight() throws InterruptedException {
+        if (!inFlight.tryAcquire(options.maxInFlight, options.requestTimeoutSeconds + 5L, TimeUnit.SECONDS)) {
+            return false;
+        }
+        inFlight.release(options.maxInFlight);
+        return true;
+    }
+
+    private static Map<Endpoint, EndpointStats> newStats() {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats(endpoint.label));
+        }
+        return stats;
+    }
+
+    private void report(Map<Endpoint, EndpointStats> stats, boolean drained) throws IOException {
+        double seconds = options.durationSeconds;
+        System.out.println();
+        System.out.printf("%-36s %9s %9s %8s %7s %8s %9s %8s %8s %8s %8s %8s%n",
+                "Endpoint", "Requests", "2xx", "Non-2xx", "Failed", "Dropped", "Req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        long totalCompleted = 0;
+        long totalSuccessful = 0;
+        long totalFailed = 0;
+        long totalDropped = 0;
+        for (EndpointStats endpoint : stats.values()) {
+            long completed = endpoint.completed();
+            long successful = endpoint.successful();
+            totalCompleted += completed;
+            totalSuccessful += successful;
+            totalFailed += endpoint.failures();
+            totalDropped += endpoint.dropped();
+            System.out.printf("%-36s %9d %9d %8d %7d %8d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                    endpoint.name(), completed, successful, completed - successful - endpoint.failures(),
+                    endpoint.failures(), endpoint.dropped(), completed / seconds,
+                    endpoint.percentileMillis(50), endpoint.percentileMillis(90), endpoint.percentileMillis(99),
+                    endpoint.percentileMillis(99.9), endpoint.maxMillis());
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("endpoint", endpoint.name());
+            entry.put("requests", completed);
+            entry.put("successful", successful);
+            entry.put("failed", endpoint.failures());
+            entry.put("dropped", endpoint.dropped());
+            entry.put("statuses", endpoint.statuses());
+            entry.put("throughputPerSecond", completed / seconds);
+            entry.put("p50Millis", endpoint.percentileMillis(50));
+            entry.put("p90Millis", endpoint.percentileMillis(90));
+            entry.put("p99Millis", endpoint.percentileMillis(99));
+            entry.put("p999Millis", endpoint.percentileMillis(99.9));
+            entry.put("maxMillis", endpoint.maxMillis());
+            endpoints.add(entry);
+        }
+        System.out.printf("%-36s %9d %9d %8d %7d %8d %9.1f%n", "Total", totalCompleted, totalSuccessful,
+                totalCompleted - totalSuccessful - totalFailed, totalFailed, totalDropped, totalCompleted / seconds);
+        System.out.printf("Sent %.1f req/s against a target of %d req/s plus login bursts%n", sent.get() / seconds, options.rate);
+        if (!drained) {
+            System.out.println("Some requests were still in flight when the report was written");
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rate", options.rate);
+        report.put("durationSeconds", options.durationSeconds);
+        report.put("warmupSeconds", options.warmupSeconds);
+        report.put("loginBurst", options.loginBurst);
+        report.put("loginBurstIntervalSeconds", options.loginBurstIntervalSeconds);
+        report.put("voters", options.voters);
+        report.put("seed", options.seed);
+        report.put("applicationProperties", options.applicationProperties);
+        report.put("endpoints", endpoints);
+        if (options.report.getParent() != null) {
+            Files.createDirectories(options.report.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.report.toFile(), report);
+        System.out.println("Report written to " + options.report.toAbsolutePath());
+    }
+}
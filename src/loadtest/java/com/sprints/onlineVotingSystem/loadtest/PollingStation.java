@@ -0,0 +1,152 @@
+package com.sprints.onlineVotingSystem.loadtest;
+
+import com.sprints.onlineVotingSystem.OnlineVotingSystemApplication;
+import com.sprints.onlineVotingSystem.service.TurnoutService;
+import com.sprints.onlineVotingSystem.util.JwtUtil;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The application under test: started with its web server on a free port against a private
+ * in-memory H2 database, and seeded with voters, open elections and candidates through plain SQL.
+ * <p>
+ * Every voter gets the same password, hashed once with the application's own encoder, so logins
+ * cost exactly what they cost in production and no hash is upgraded during the run.
+ */
+final class PollingStation implements AutoCloseable {
+
+    static final String PASSWORD = "LoadTest#2024";
+    static final String ADMIN_EMAIL = "admin@load.test";
+
+    private final ConfigurableApplicationContext context;
+    private final JdbcTemplate jdbc;
+    private final JwtUtil jwtUtil;
+
+    private final int voters;
+    private final List<Long> electionIds = new ArrayList<>();
+    private final Map<Long, List<Long>> candidateIds = new LinkedHashMap<>();
+
+    private PollingStation(ConfigurableApplicationContext context, int voters) {
+        this.context = context;
+        this.jdbc = context.getBean(JdbcTemplate.class);
+        this.jwtUtil = context.getBean(JwtUtil.class);
+        this.voters = voters;
+    }
+
+    static PollingStation open(LoadTestOptions options) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        properties.put("spring.h2.console.enabled", "false");
+        properties.put("spring.main.banner-mode", "off");
+        // per-request INFO logging would be measured along with the application
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.sprints.onlineVotingSystem", "WARN");
+        properties.put("jwt.expiration", "86400000");
+        properties.putAll(options.applicationProperties);
+
+        // devtools would restart the application in a new class loader and run main() a second time
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // command line arguments, so they override application-test.properties
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(OnlineVotingSystemApplication.class)
+                .profiles("test")
+                .run(args);
+
+        PollingStation station = new PollingStation(context, options.voters);
+        try {
+            station.seed(options);
+        } catch (RuntimeException e) {
+            station.close();
+            throw e;
+        }
+        return station;
+    }
+
+    int port() {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    int voters() {
+        return voters;
+    }
+
+    List<Long> electionIds() {
+        return electionIds;
+    }
+
+    List<Long> candidateIds(Long electionId) {
+        return candidateIds.get(electionId);
+    }
+
+    /**
+     * @param voter The voter number, from 1 to the number of voters
+     */
+    static String voterEmail(int voter) {
+        return "voter" + voter + "@load.test";
+    }
+
+    /**
+     * Issues a token the way a login would, so the voters that do not log in during the run
+     * can still vote without going through BCrypt
+     */
+    String token(String email, String role) {
+        return jwtUtil.generateToken(email, role);
+    }
+
+    private void seed(LoadTestOptions options) {
+        long started = System.nanoTime();
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        jdbc.update("INSERT INTO city (id, name, normalized_name) " +
+                "SELECT NEXT VALUE FOR city_seq, 'Load City ' || X, 'load city ' || X FROM SYSTEM_RANGE(1, ?)",
+                Math.max(1, options.cities));
+        int cities = jdbc.queryForObject("SELECT COUNT(*) FROM city WHERE normalized_name LIKE 'load city %'", Integer.class);
+        jdbc.update("INSERT INTO users (id, name, email, password_hash, role, city, city_id) " +
+                "SELECT NEXT VALUE FOR users_seq, 'Voter ' || r.X, 'voter' || r.X || '@load.test', ?, 'VOTER', c.name, c.id " +
+                "FROM SYSTEM_RANGE(1, ?) r " +
+                "JOIN (SELECT id, name, ROW_NUMBER() OVER (ORDER BY id) - 1 AS rn " +
+                "      FROM city WHERE normalized_name LIKE 'load city %') c ON c.rn = MOD(r.X, ?)",
+                passwordHash, voters, cities);
+        jdbc.update("INSERT INTO users (id, name, email, password_hash, role, city, city_id) " +
+                "SELECT NEXT VALUE FOR users_seq, 'Load Admin', ?, ?, 'ADMIN', name, id FROM city WHERE normalized_name = 'load city 1'",
+                ADMIN_EMAIL, passwordHash);
+
+        LocalDate today = LocalDate.now();
+        jdbc.update("INSERT INTO election (id, title, start_date, end_date) " +
+                "SELECT NEXT VALUE FOR election_seq, 'Load Election ' || X, ?, ? FROM SYSTEM_RANGE(1, ?)",
+                today.minusDays(1), today.plusDays(1), Math.max(1, options.elections));
+        electionIds.addAll(jdbc.queryForList("SELECT id FROM election WHERE title LIKE 'Load Election %' ORDER BY id", Long.class));
+        jdbc.update("INSERT INTO candidate (id, name, election_id) " +
+                "SELECT NEXT VALUE FOR candidate_seq, 'Candidate ' || e.id || '-' || r.X, e.id " +
+                "FROM election e CROSS JOIN SYSTEM_RANGE(1, ?) r WHERE e.title LIKE 'Load Election %'",
+                Math.max(1, options.candidatesPerElection));
+        for (Long electionId : electionIds) {
+            candidateIds.put(electionId,
+                    jdbc.queryForList("SELECT id FROM candidate WHERE election_id = ? ORDER BY id", Long.class, electionId));
+        }
+        jdbc.execute("ANALYZE");
+        // pick up the seeded voters' cities now rather than at the first scheduled run
+        context.getBean(TurnoutService.class).reconcile();
+
+        System.out.printf("Seeded %,d voters in %d cities, %d elections with %d candidates each in %d ms%n",
+                voters, cities, electionIds.size(), options.candidatesPerElection,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,19 @@
+package com.sprints.onlineVotingSystem.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the in-process Caffeine caches used on the vote path.
+ * Cache sizes and TTL are configured through spring.cache.caffeine.spec.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Elections by id */
+    public static final String ELECTIONS = "elections";
+
+    /** Candidates by id */
+    public static final String CANDIDATES = "candidates";
+}
@@ -0,0 +1,22 @@
+package com.sprints.onlineVotingSystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+/**
+ * Provides the application clock in the time zone elections are held in
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock(@Value("${voting.time-zone:}") String timeZone) {
+        ZoneId zone = StringUtils.hasText(timeZone) ? ZoneId.of(timeZone) : ZoneId.systemDefault();
+        return Clock.system(zone);
+    }
+}
@@ -0,0 +1,34 @@
+package com.sprints.onlineVotingSystem.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts a {@link GatedDataSource} in front of the application's DataSource.
+ * Meant for the virtual-thread mode, where request concurrency is no longer
+ * bounded by the size of the servlet thread pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.connection-gate.enabled", havingValue = "true")
+public class ConnectionGateConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionGatePostProcessor(Environment environment) {
+        int permits = environment.getProperty("db.connection-gate.permits", Integer.class, 10);
+        long timeoutMillis = environment.getProperty("db.connection-gate.timeout-ms", Long.class, 30000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof GatedDataSource)) {
+                    return new GatedDataSource(dataSource, permits, timeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.sprints.onlineVotingSystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the periodic background jobs, such as the turnout reconciliation
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
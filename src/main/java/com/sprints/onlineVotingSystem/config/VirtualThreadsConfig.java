@@ -0,0 +1,28 @@
+package com.sprints.onlineVotingSystem.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Refuses to start with virtual threads requested on a runtime that has none.
+ * Before Java 21 Spring Boot ignores spring.threads.virtual.enabled, and the virtual-threads
+ * profile would silently run on the platform pool with only the connection gate added.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    static final int MIN_JAVA_VERSION = 21;
+
+    public VirtualThreadsConfig() {
+        requireVirtualThreads(Runtime.version().feature());
+    }
+
+    static void requireVirtualThreads(int javaVersion) {
+        if (javaVersion < MIN_JAVA_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled requires Java " + MIN_JAVA_VERSION
+                    + " or later, but this runtime is Java " + javaVersion
+                    + ". Start without the virtual-threads profile or on a newer JDK.");
+        }
+    }
+}
@@ -1,25 +1,42 @@
 package com.sprints.onlineVotingSystem.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sprints.onlineVotingSystem.domain.Candidate;
 import com.sprints.onlineVotingSystem.domain.Election;
 import com.sprints.onlineVotingSystem.domain.Voter;
+import com.sprints.onlineVotingSystem.dto.BulkCityAssignmentDTO;
+import com.sprints.onlineVotingSystem.dto.BulkCityAssignmentResultDTO;
 import com.sprints.onlineVotingSystem.dto.CandidateDTO;
 import com.sprints.onlineVotingSystem.dto.CandidateRegistrationDTO;
 import com.sprints.onlineVotingSystem.dto.CandidateResultDTO;
 import com.sprints.onlineVotingSystem.dto.ElectionDTO;
+import com.sprints.onlineVotingSystem.dto.ElectionTurnoutDTO;
+import com.sprints.onlineVotingSystem.dto.KeysetPageDTO;
+import com.sprints.onlineVotingSystem.dto.VoterImportReportDTO;
 import com.sprints.onlineVotingSystem.dto.VoterRegistrationDTO;
 import com.sprints.onlineVotingSystem.dto.AdminRegistrationDTO;
 import com.sprints.onlineVotingSystem.service.CandidateService;
+import com.sprints.onlineVotingSystem.service.CityAssignmentService;
 import com.sprints.onlineVotingSystem.service.ElectionResultService;
 import com.sprints.onlineVotingSystem.service.ElectionService;
+import com.sprints.onlineVotingSystem.service.LiveResultsService;
+import com.sprints.onlineVotingSystem.service.TurnoutService;
+import com.sprints.onlineVotingSystem.service.VoterImportService;
 import com.sprints.onlineVotingSystem.service.VoterService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -32,6 +49,11 @@ public class AdminController {
     private final ElectionService electionService;
     private final CandidateService candidateService;
     private final VoterService voterService;
+    private final VoterImportService voterImportService;
+    private final CityAssignmentService cityAssignmentService;
+    private final TurnoutService turnoutService;
+    private final LiveResultsService liveResultsService;
+    private final ObjectMapper objectMapper;
     
     /**
      * POST endpoint to create a new election
@@ -58,16 +80,19 @@ public class AdminController {
     }
     
     /**
-     * GET endpoint to retrieve all elections
+     * GET endpoint to retrieve elections one page at a time
      * Only admins can view all elections
      * 
-     * @return ResponseEntity containing a list of all elections
+     * @param after The last election ID of the previous page (nextAfter), omitted for the first page
+     * @param limit The page size, at most 1000
+     * @return ResponseEntity containing a page of elections ordered by ID
      */
     @GetMapping("/elections")
-    public ResponseEntity<List<Election>> getAllElections() {
-        log.info("Admin requested all elections");
+    public ResponseEntity<KeysetPageDTO<Election>> getAllElections(@RequestParam(defaultValue = "0") long after,
+                                                                   @RequestParam(defaultValue = "100") int limit) {
+        log.debug("Admin requested elections after {}", after);
         try {
-            List<Election> elections = electionService.getAllElections();
+            KeysetPageDTO<Election> elections = electionService.getElections(after, limit);
             return ResponseEntity.ok(elections);
         } catch (Exception e) {
             log.error("Error retrieving elections: {}", e.getMessage(), e);
@@ -98,16 +123,19 @@ public class AdminController {
     }
     
     /**
-     * GET endpoint to retrieve all candidates
+     * GET endpoint to retrieve candidates one page at a time
      * Only admins can view all candidates
      * 
-     * @return ResponseEntity containing a list of all candidates
+     * @param after The last candidate ID of the previous page (nextAfter), omitted for the first page
+     * @param limit The page size, at most 1000
+     * @return ResponseEntity containing a page of candidates ordered by ID
      */
     @GetMapping("/candidates")
-    public ResponseEntity<List<Candidate>> getAllCandidates() {
-        log.info("Admin requested all candidates");
+    public ResponseEntity<KeysetPageDTO<Candidate>> getAllCandidates(@RequestParam(defaultValue = "0") long after,
+                                                                     @RequestParam(defaultValue = "100") int limit) {
+        log.debug("Admin requested candidates after {}", after);
         try {
-            List<Candidate> candidates = candidateService.getAllCandidateEntities();
+            KeysetPageDTO<Candidate> candidates = candidateService.getCandidateEntities(after, limit);
             return ResponseEntity.ok(candidates);
         } catch (Exception e) {
             log.error("Error retrieving candidates: {}", e.getMessage(), e);
@@ -141,6 +169,23 @@ public class AdminController {
         }
     }
     
+    /**
+     * POST endpoint to import voters in bulk
+     * Only admins can import voters
+     * The body is a CSV file with a name,email,password,city header row (text/csv)
+     * or one registration object per line (application/x-ndjson), read as a stream
+     * 
+     * @param request The HTTP request carrying the import data
+     * @return ResponseEntity containing the import report with per-row errors
+     */
+    @PostMapping(value = "/voters/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<VoterImportReportDTO> importVoters(HttpServletRequest request) throws IOException {
+        log.info("Admin importing voters ({})", request.getContentType());
+        VoterImportService.Format format = VoterImportService.formatOf(request.getContentType());
+        VoterImportReportDTO report = voterImportService.importVoters(request.getInputStream(), format);
+        return ResponseEntity.ok(report);
+    }
+    
     /**
      * POST endpoint to register a new admin
      * Only existing admins can register new admins
@@ -188,17 +233,36 @@ public class AdminController {
     }
     
     /**
-     * GET endpoint to retrieve voters by city
+     * PUT endpoint to assign many voters to a city at once
+     * Only admins can assign voters
+     * Voters are selected either by ID or by their current city and updated in chunks
+     * 
+     * @param request The voters to move and the target city
+     * @return ResponseEntity containing how many voters were updated
+     */
+    @PutMapping("/voters/assign")
+    public ResponseEntity<BulkCityAssignmentResultDTO> assignVotersToCity(@Valid @RequestBody BulkCityAssignmentDTO request) {
+        log.info("Admin bulk assigning voters to city: {}", request.getTargetCity());
+        BulkCityAssignmentResultDTO result = cityAssignmentService.assignVoters(request);
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * GET endpoint to retrieve voters by city one page at a time
      * Only admins can view voter assignments
      * 
      * @param city The city to filter by
-     * @return ResponseEntity containing a list of voters in the city
+     * @param after The last voter ID of the previous page (nextAfter), omitted for the first page
+     * @param limit The page size, at most 1000
+     * @return ResponseEntity containing a page of voters in the city ordered by ID
      */
     @GetMapping("/voters/city/{city}")
-    public ResponseEntity<List<Voter>> getVotersByCity(@PathVariable String city) {
-        log.info("Admin requested voters for city: {}", city);
+    public ResponseEntity<KeysetPageDTO<Voter>> getVotersByCity(@PathVariable String city,
+                                                                @RequestParam(defaultValue = "0") long after,
+                                                                @RequestParam(defaultValue = "100") int limit) {
+        log.debug("Admin requested voters for city: {} after {}", city, after);
         try {
-            List<Voter> voters = voterService.getVotersByCity(city);
+            KeysetPageDTO<Voter> voters = voterService.getVotersByCity(city, after, limit);
             return ResponseEntity.ok(voters);
         } catch (Exception e) {
             log.error("Error retrieving voters by city: {}", e.getMessage(), e);
@@ -214,7 +278,7 @@ public class AdminController {
      */
     @GetMapping("/results")
     public ResponseEntity<List<CandidateResultDTO>> getElectionResults() {
-        log.info("Admin requested election results");
+        log.debug("Admin requested election results");
         try {
             List<CandidateResultDTO> results = electionResultService.getElectionResults();
             return ResponseEntity.ok(results);
@@ -223,4 +287,65 @@ public class AdminController {
             return ResponseEntity.internalServerError().build();
         }
     }
+    
+    /**
+     * GET endpoint to retrieve the results of a single election
+     * The JSON array is streamed to the client while the results are read,
+     * so large elections are never held in memory as a whole
+     * 
+     * @param electionId The election ID
+     * @return ResponseEntity streaming a JSON array of CandidateResultDTO
+     */
+    @GetMapping("/elections/{electionId}/results")
+    public ResponseEntity<StreamingResponseBody> getElectionResultsById(@PathVariable Long electionId) {
+        log.debug("Admin requested results for election {}", electionId);
+        // Fail with 404 before the response is committed
+        electionService.getElectionById(electionId);
+        
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                electionResultService.streamElectionResults(electionId, result -> {
+                    try {
+                        generator.writeObject(result);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+    
+    /**
+     * GET endpoint to follow the results of a single election as Server-Sent Events
+     * The first "snapshot" event lists every candidate, each later "delta" event the candidates
+     * whose vote counts changed, at most once per voting.results-stream.interval-ms
+     * 
+     * @param electionId The election ID
+     * @return SseEmitter pushing JSON arrays of CandidateVoteCountDTO
+     */
+    @GetMapping(path = "/elections/{electionId}/results/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamElectionResults(@PathVariable Long electionId) {
+        log.info("Admin subscribed to live results of election {}", electionId);
+        // Fail with 404 before the event stream starts
+        electionService.getElectionById(electionId);
+        return liveResultsService.subscribe(electionId);
+    }
+    
+    /**
+     * GET endpoint to retrieve the turnout of an election per city
+     * Reads the in-memory counters, so the cost grows with the number of cities, not of votes
+     * 
+     * @param electionId The election ID
+     * @return ResponseEntity containing voted and eligible counts per city and in total
+     */
+    @GetMapping("/elections/{electionId}/turnout")
+    public ResponseEntity<ElectionTurnoutDTO> getElectionTurnout(@PathVariable Long electionId) {
+        log.debug("Admin requested turnout for election {}", electionId);
+        electionService.getElectionById(electionId);
+        return ResponseEntity.ok(turnoutService.getTurnout(electionId));
+    }
 }
@@ -0,0 +1,52 @@
+package com.sprints.onlineVotingSystem.controller;
+
+import com.sprints.onlineVotingSystem.dto.BallotReceiptDTO;
+import com.sprints.onlineVotingSystem.dto.VoteRequestDTO;
+import com.sprints.onlineVotingSystem.service.AsyncBallotService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Asynchronous ballot intake, available when voting.async.enabled=true
+ */
+@RestController
+@RequestMapping("/api/voters/ballots")
+@ConditionalOnProperty(name = "voting.async.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class AsyncBallotController {
+
+    private final AsyncBallotService asyncBallotService;
+
+    /**
+     * Accept a ballot for asynchronous recording
+     * Only authenticated voters can access this endpoint
+     * 
+     * @param voteRequest The voting request containing candidate and election IDs
+     * @param voterEmail The email of the authenticated voter (extracted from JWT)
+     * @return ResponseEntity with status 202 and the ballot receipt
+     */
+    @PostMapping("/async")
+    public ResponseEntity<BallotReceiptDTO> submitBallot(@Valid @RequestBody VoteRequestDTO voteRequest,
+                                                         @RequestParam String voterEmail) {
+        log.debug("Voter {} submitting async ballot for candidate {} in election {}", 
+                voterEmail, voteRequest.getCandidateId(), voteRequest.getElectionId());
+        BallotReceiptDTO receipt = asyncBallotService.submit(voteRequest, voterEmail);
+        return ResponseEntity.accepted().body(receipt);
+    }
+
+    /**
+     * Check whether an asynchronously accepted ballot has been recorded
+     * 
+     * @param receiptId The receipt ID returned when the ballot was accepted
+     * @return ResponseEntity containing the receipt and its status
+     */
+    @GetMapping("/receipts/{receiptId}")
+    public ResponseEntity<BallotReceiptDTO> getReceipt(@PathVariable String receiptId) {
+        return ResponseEntity.ok(asyncBallotService.getReceipt(receiptId));
+    }
+}
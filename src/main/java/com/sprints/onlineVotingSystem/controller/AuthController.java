@@ -7,6 +7,7 @@ import com.sprints.onlineVotingSystem.dto.VoterRegistrationDTO;
 import com.sprints.onlineVotingSystem.domain.Voter;
 import com.sprints.onlineVotingSystem.service.AuthService;
 import com.sprints.onlineVotingSystem.service.VoterService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,13 +28,15 @@ public class AuthController {
      * Public endpoint for admin login
      * 
      * @param loginRequest The login credentials
+     * @param request The HTTP request, used for the client address
      * @return LoginResponseDTO containing JWT token and user info
      */
     @PostMapping("/admin/login")
-    public ResponseEntity<LoginResponseDTO> adminLogin(@Valid @RequestBody LoginRequestDTO loginRequest) {
-        log.info("Admin login attempt for email: {}", loginRequest.getEmail());
+    public ResponseEntity<LoginResponseDTO> adminLogin(@Valid @RequestBody LoginRequestDTO loginRequest,
+                                                       HttpServletRequest request) {
+        log.debug("Admin login attempt for email: {}", loginRequest.getEmail());
         try {
-            LoginResponseDTO response = authService.authenticateAdmin(loginRequest);
+            LoginResponseDTO response = authService.authenticateAdmin(loginRequest, request.getRemoteAddr());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Admin login failed for email: {} - Error: {}", loginRequest.getEmail(), e.getMessage());
@@ -45,13 +48,15 @@ public class AuthController {
      * Public endpoint for voter login
      * 
      * @param loginRequest The login credentials
+     * @param request The HTTP request, used for the client address
      * @return LoginResponseDTO containing JWT token and user info
      */
     @PostMapping("/voter/login")
-    public ResponseEntity<LoginResponseDTO> voterLogin(@Valid @RequestBody LoginRequestDTO loginRequest) {
-        log.info("Voter login attempt for email: {}", loginRequest.getEmail());
+    public ResponseEntity<LoginResponseDTO> voterLogin(@Valid @RequestBody LoginRequestDTO loginRequest,
+                                                       HttpServletRequest request) {
+        log.debug("Voter login attempt for email: {}", loginRequest.getEmail());
         try {
-            LoginResponseDTO response = authService.authenticateVoter(loginRequest);
+            LoginResponseDTO response = authService.authenticateVoter(loginRequest, request.getRemoteAddr());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Voter login failed for email: {} - Error: {}", loginRequest.getEmail(), e.getMessage());
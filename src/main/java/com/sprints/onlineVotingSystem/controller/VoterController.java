@@ -3,6 +3,8 @@ package com.sprints.onlineVotingSystem.controller;
 import com.sprints.onlineVotingSystem.domain.Voter;
 import com.sprints.onlineVotingSystem.domain.Vote;
 import com.sprints.onlineVotingSystem.dto.CandidateDTO;
+import com.sprints.onlineVotingSystem.dto.KeysetPageDTO;
+import com.sprints.onlineVotingSystem.dto.VoteReceiptDTO;
 import com.sprints.onlineVotingSystem.dto.VoteRequestDTO;
 import com.sprints.onlineVotingSystem.service.CandidateService;
 import com.sprints.onlineVotingSystem.service.VoterService;
@@ -10,6 +12,7 @@ import com.sprints.onlineVotingSystem.service.VotingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,13 +29,17 @@ public class VoterController {
     private final VotingService votingService;
 
     /**
-     * Get all voters filtered by city
+     * Get voters filtered by city, one page at a time
      * @param cityName the city name to filter by
-     * @return list of voters in the specified city
+     * @param after the last voter ID of the previous page (nextAfter), omitted for the first page
+     * @param limit the page size, at most 1000
+     * @return page of voters in the specified city ordered by ID
      */
     @GetMapping("/city/{cityName}")
-    public ResponseEntity<List<Voter>> getVotersByCity(@PathVariable String cityName) {
-        List<Voter> voters = voterService.getVotersByCity(cityName);
+    public ResponseEntity<KeysetPageDTO<Voter>> getVotersByCity(@PathVariable String cityName,
+                                                                @RequestParam(defaultValue = "0") long after,
+                                                                @RequestParam(defaultValue = "100") int limit) {
+        KeysetPageDTO<Voter> voters = voterService.getVotersByCity(cityName, after, limit);
         return ResponseEntity.ok(voters);
     }
     
@@ -48,16 +55,19 @@ public class VoterController {
     }
     
     /**
-     * Get all candidates available for voting
+     * Get all candidates available for voting, optionally only those of one election
      * Only authenticated voters can access this endpoint
      * 
+     * @param electionId the election to list candidates for, or all elections when omitted
      * @return List of CandidateDTO containing candidate information
      */
     @GetMapping("/candidates")
-    public ResponseEntity<List<CandidateDTO>> getCandidates() {
-        log.info("Voter requested candidate list");
+    public ResponseEntity<List<CandidateDTO>> getCandidates(@RequestParam(required = false) Long electionId) {
+        log.debug("Voter requested candidate list{}", electionId != null ? " for election " + electionId : "");
         try {
-            List<CandidateDTO> candidates = candidateService.getAllCandidates();
+            List<CandidateDTO> candidates = electionId != null
+                    ? candidateService.getCandidatesByElection(electionId)
+                    : candidateService.getAllCandidates();
             return ResponseEntity.ok(candidates);
         } catch (Exception e) {
             log.error("Error retrieving candidates: {}", e.getMessage(), e);
@@ -71,19 +81,44 @@ public class VoterController {
      * 
      * @param voteRequest The voting request containing candidate and election IDs
      * @param voterEmail The email of the authenticated voter (extracted from JWT)
-     * @return ResponseEntity containing the created Vote
+     * @return ResponseEntity containing a receipt for the created vote
      */
     @PostMapping("/vote")
-    public ResponseEntity<Vote> castVote(@Valid @RequestBody VoteRequestDTO voteRequest, 
-                                       @RequestParam String voterEmail) {
-        log.info("Voter {} attempting to cast vote for candidate {} in election {}", 
+    public ResponseEntity<VoteReceiptDTO> castVote(@Valid @RequestBody VoteRequestDTO voteRequest, 
+                                                   @RequestParam String voterEmail) {
+        log.debug("Voter {} attempting to cast vote for candidate {} in election {}", 
                 voterEmail, voteRequest.getCandidateId(), voteRequest.getElectionId());
         try {
             Vote vote = votingService.castVote(voteRequest, voterEmail);
-            return ResponseEntity.ok(vote);
+            // Only IDs go back to the client, never the voter, candidate or election entities
+            VoteReceiptDTO receipt = new VoteReceiptDTO(vote.getId(), vote.getElection().getId(),
+                    vote.getCandidate().getId(), voterEmail, vote.getVoteTime());
+            return ResponseEntity.ok(receipt);
         } catch (Exception e) {
             log.error("Voting failed for voter {}: {}", voterEmail, e.getMessage());
             throw e; // Let global exception handler deal with it
         }
     }
+    
+    /**
+     * Submit a ballot through the single-statement ingestion path
+     * Only authenticated voters can access this endpoint
+     * 
+     * @param voteRequest The voting request containing candidate and election IDs
+     * @param voterEmail The email of the authenticated voter (extracted from JWT)
+     * @return ResponseEntity containing the vote receipt
+     */
+    @PostMapping("/ballots")
+    public ResponseEntity<VoteReceiptDTO> submitBallot(@Valid @RequestBody VoteRequestDTO voteRequest,
+                                                       @RequestParam String voterEmail) {
+        log.debug("Voter {} submitting ballot for candidate {} in election {}", 
+                voterEmail, voteRequest.getCandidateId(), voteRequest.getElectionId());
+        try {
+            VoteReceiptDTO receipt = votingService.submitBallot(voteRequest, voterEmail);
+            return ResponseEntity.status(HttpStatus.CREATED).body(receipt);
+        } catch (Exception e) {
+            log.error("Ballot submission failed for voter {}: {}", voterEmail, e.getMessage());
+            throw e; // Let global exception handler deal with it
+        }
+    }
 }
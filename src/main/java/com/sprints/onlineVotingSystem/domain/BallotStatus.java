@@ -0,0 +1,10 @@
+package com.sprints.onlineVotingSystem.domain;
+
+/**
+ * Processing state of a ballot accepted through the asynchronous ingestion path
+ */
+public enum BallotStatus {
+    PENDING,
+    COMMITTED,
+    REJECTED
+}
@@ -4,28 +4,41 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.ToString;
 
 @Entity
+@Table(
+        name = "candidate",
+        indexes = @Index(name = "idx_candidate_election", columnList = "election_id, id")
+)
 @Getter
 @Setter
+@ToString(exclude = "election")
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Candidate {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "candidate_seq")
+    @SequenceGenerator(name = "candidate_seq", sequenceName = "candidate_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Candidate name is required")
     @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
     private String name;
 
+    // Lazy: ballot validation only needs the election ID, which the proxy carries without a query.
+    // Candidates kept in the lookup cache therefore hold an uninitialized election proxy; use
+    // CandidateRepository.findAll (entity graph) or a fetch join when the election itself is needed.
     @NotNull(message = "Election is required")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "election_id", nullable = false)
     private Election election;
 }
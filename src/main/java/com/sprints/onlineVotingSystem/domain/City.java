@@ -0,0 +1,33 @@
+package com.sprints.onlineVotingSystem.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per distinct city; voters reference it through users.city_id
+ */
+@Entity
+@Table(
+        name = "city",
+        uniqueConstraints = @UniqueConstraint(name = "uk_city_normalized_name", columnNames = "normalized_name")
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class City {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "city_seq")
+    @SequenceGenerator(name = "city_seq", sequenceName = "city_seq", allocationSize = 50)
+    private Integer id;
+
+    // display spelling, the first one registered
+    @Column(nullable = false)
+    private String name;
+
+    // lookup key from CityNames.lookupKey
+    @Column(name = "normalized_name", nullable = false)
+    private String normalizedName;
+}
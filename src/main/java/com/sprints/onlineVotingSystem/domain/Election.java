@@ -4,10 +4,14 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.LocalDate;
 
@@ -15,12 +19,11 @@ import java.time.LocalDate;
 @Table(name = "Election")
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-@Builder
 public class Election {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "election_seq")
+    @SequenceGenerator(name = "election_seq", sequenceName = "election_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Election title is required")
@@ -33,4 +36,31 @@ public class Election {
     @NotNull(message = "End date is required")
     @Future(message = "End date must be in the future")
     private LocalDate endDate;
+
+    // Precomputed voting window, resolved once per cached election
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient volatile VotingWindow votingWindow;
+
+    @Builder
+    public Election(Long id, String title, LocalDate startDate, LocalDate endDate) {
+        this.id = id;
+        this.title = title;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    /**
+     * The last voting window computed for this election, or null
+     */
+    public VotingWindow cachedVotingWindow() {
+        return votingWindow;
+    }
+
+    public void cacheVotingWindow(VotingWindow votingWindow) {
+        this.votingWindow = votingWindow;
+    }
 }
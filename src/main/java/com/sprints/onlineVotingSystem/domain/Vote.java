@@ -4,41 +4,68 @@ package com.sprints.onlineVotingSystem.domain;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "vote")
-@Data
+@Table(
+        name = "vote",
+        uniqueConstraints = @UniqueConstraint(name = Vote.VOTER_ELECTION_CONSTRAINT, columnNames = {"voter_id", "election_id"}),
+        indexes = {
+                @Index(name = "idx_vote_election_candidate", columnList = "election_id, candidate_id"),
+                @Index(name = "idx_vote_candidate", columnList = "candidate_id"),
+                @Index(name = "idx_vote_receipt", columnList = "receipt_id")
+        }
+)
+// No @Data: generated toString/equals/hashCode would initialize the lazy associations
+@Getter
+@Setter
+@ToString(exclude = {"candidate", "election", "voter"})
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Vote {
 
+    // one vote per voter per election, enforced by the database
+    public static final String VOTER_ELECTION_CONSTRAINT = "uk_vote_voter_election";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vote_seq")
+    @SequenceGenerator(name = "vote_seq", sequenceName = "vote_seq", allocationSize = 50)
     private Long id;
 
     private LocalDateTime voteTime;
 
+    // set for ballots accepted through the asynchronous ingestion path
+    @Column(name = "receipt_id", length = 36)
+    private String receiptId;
 
-
-    @ManyToOne
+    // Associations are lazy: votes are written far more often than they are read as entities,
+    // and results are computed with projection queries, so no vote query needs an entity graph
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "candidate_id", nullable = false)
     private Candidate candidate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "election_id", nullable = false)
     private Election election;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "voter_id", nullable = false)
     private Voter voter;
 
+    // VotingService sets the time from its injected Clock; only votes saved without one get the wall clock
     @PrePersist
     protected void onCreate() {
-        voteTime = LocalDateTime.now();
+        if (voteTime == null) {
+            voteTime = LocalDateTime.now();
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.sprints.onlineVotingSystem.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -9,16 +10,17 @@ import lombok.*;
 @Entity
 @Table(
         name = "users",
-        uniqueConstraints = @UniqueConstraint(columnNames = "email")
+        uniqueConstraints = @UniqueConstraint(columnNames = "email"),
+        // per-city listing and counts seek on (city_id, id)
+        indexes = @Index(name = "idx_users_city_ref", columnList = "city_id, id")
 )
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-@Builder
 public class Voter {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -39,11 +41,46 @@ public class Voter {
     @Column(nullable = false, length = 20)
     private Role role;
 
-    // for eligibility by city
+    // display spelling of the voter's city, copied from City.name by assignCity and the repository updates;
+    // until then the spelling the voter registered with
     @NotBlank(message = "City is required")
     @Column(nullable = false)
     private String city;
 
+    // The voter's city, written only through assignCity. Stays nullable: V4 leaves voters whose legacy city
+    // was blank without a city, and such unassigned voters are a state the voting rules reject, not a schema error
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "city_id")
+    @Setter(AccessLevel.NONE)
+    private City cityRef;
+
+    // Read-only mirror of city_id, so eligibility checks and per-city queries never load the city
+    @Column(name = "city_id", insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private Integer cityId;
+
+    @Builder
+    private Voter(Long id, String name, String email, String passwordHash, Role role, String city) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.passwordHash = passwordHash;
+        this.role = role;
+        this.city = city;
+    }
+
+    /**
+     * Assigns the voter to a city, taking the display spelling from it
+     */
+    public void assignCity(City city) {
+        this.cityRef = city;
+        this.cityId = city.getId();
+        this.city = city.getName();
+    }
+
     @PrePersist
     void setDefaults() {
         if (role == null) role = Role.VOTER;
@@ -0,0 +1,34 @@
+package com.sprints.onlineVotingSystem.domain;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Voting window of an election resolved to epoch milliseconds in a fixed time zone.
+ * Voting is open from the start of the start date (inclusive) until the start of the
+ * day after the end date (exclusive).
+ */
+@Value
+public class VotingWindow {
+
+    LocalDate startDate;
+    LocalDate endDate;
+    ZoneId zone;
+    long opensAtEpochMilli;
+    long closesAtEpochMilli;
+
+    public static VotingWindow of(LocalDate startDate, LocalDate endDate, ZoneId zone) {
+        long opensAt = startDate.atStartOfDay(zone).toInstant().toEpochMilli();
+        long closesAt = endDate.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        return new VotingWindow(startDate, endDate, zone, opensAt, closesAt);
+    }
+
+    /**
+     * True if this window was computed from the given dates and zone
+     */
+    public boolean isFor(LocalDate startDate, LocalDate endDate, ZoneId zone) {
+        return this.startDate.equals(startDate) && this.endDate.equals(endDate) && this.zone.equals(zone);
+    }
+}
@@ -0,0 +1,17 @@
+package com.sprints.onlineVotingSystem.dto;
+
+import com.sprints.onlineVotingSystem.domain.BallotStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BallotReceiptDTO {
+
+    private String receiptId;
+    private Long electionId;
+    private BallotStatus status;
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.sprints.onlineVotingSystem.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCityAssignmentDTO {
+    
+    // Either an explicit list of voter IDs or a source city whose voters all move
+    private List<Long> voterIds;
+    
+    private String sourceCity;
+    
+    @NotBlank(message = "Target city is required")
+    private String targetCity;
+}
@@ -0,0 +1,16 @@
+package com.sprints.onlineVotingSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCityAssignmentResultDTO {
+    private String targetCity;
+    // voters selected by the request when the assignment started
+    private long requested;
+    private long updated;
+    private int chunks;
+}
@@ -10,6 +10,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CandidateDTO {
+    
+    // candidates have no party of their own yet
+    public static final String DEFAULT_PARTY = "Independent";
+    
     private Long id;
     
     @NotBlank(message = "Candidate name is required")
@@ -20,4 +24,11 @@ public class CandidateDTO {
     
     @NotBlank(message = "Election name is required")
     private String electionName;
+    
+    /**
+     * Projection constructor used by the JPQL constructor expressions in CandidateRepository
+     */
+    public CandidateDTO(Long id, String name, String electionName) {
+        this(id, name, DEFAULT_PARTY, electionName);
+    }
 }
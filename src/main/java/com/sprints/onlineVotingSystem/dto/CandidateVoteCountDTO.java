@@ -0,0 +1,15 @@
+package com.sprints.onlineVotingSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateVoteCountDTO {
+    private Long candidateId;
+    private Long electionId;
+    private String candidateName;
+    private Long totalVotes;
+}
@@ -0,0 +1,19 @@
+package com.sprints.onlineVotingSystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CityTurnoutDTO {
+    private Integer cityId;
+    private String city;
+    private long voted;
+    private long eligible;
+    // voted as a percentage of eligible, left out while the city has no eligible voters
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double turnoutPercent;
+}
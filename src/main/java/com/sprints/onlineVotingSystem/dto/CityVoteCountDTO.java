@@ -0,0 +1,14 @@
+package com.sprints.onlineVotingSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CityVoteCountDTO {
+    private Long electionId;
+    private Integer cityId;
+    private Long totalVotes;
+}
@@ -0,0 +1,13 @@
+package com.sprints.onlineVotingSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CityVoterCountDTO {
+    private Integer cityId;
+    private Long totalVoters;
+}
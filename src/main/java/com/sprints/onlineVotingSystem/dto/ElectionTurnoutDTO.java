@@ -0,0 +1,20 @@
+package com.sprints.onlineVotingSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ElectionTurnoutDTO {
+    private Long electionId;
+    private long voted;
+    private long eligible;
+    // when the counters were last checked against the vote and users tables, null before the first run
+    private LocalDateTime reconciledAt;
+    private List<CityTurnoutDTO> cities;
+}
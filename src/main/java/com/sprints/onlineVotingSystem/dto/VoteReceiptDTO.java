@@ -0,0 +1,21 @@
+package com.sprints.onlineVotingSystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteReceiptDTO {
+    // not known for ballots recorded by the single-statement insert
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long voteId;
+    private Long electionId;
+    private Long candidateId;
+    private String voterEmail;
+    private LocalDateTime voteTime;
+}
@@ -0,0 +1,20 @@
+package com.sprints.onlineVotingSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoterImportReportDTO {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private List<ImportRowErrorDTO> errors = new ArrayList<>();
+    // true when more rows failed than are listed in errors
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,22 @@
+package com.sprints.onlineVotingSystem.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published inside the voting transaction once a vote has been stored.
+ * Listeners that keep derived state (tallies, statistics) should react after commit.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class VoteCastEvent {
+    private final Long electionId;
+    private final Long candidateId;
+    // may be null when the vote was stored without loading the candidate
+    private final String candidateName;
+    private final String voterEmail;
+    // city of the voter, null when the voter has no city
+    private final Integer voterCityId;
+}
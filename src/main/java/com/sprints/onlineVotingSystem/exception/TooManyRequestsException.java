@@ -0,0 +1,18 @@
+package com.sprints.onlineVotingSystem.exception;
+
+/**
+ * Thrown when a client has exceeded a rate limit and must wait before retrying
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
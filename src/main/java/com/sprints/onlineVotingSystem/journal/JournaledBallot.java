@@ -0,0 +1,16 @@
+package com.sprints.onlineVotingSystem.journal;
+
+import lombok.Value;
+
+/**
+ * A ballot accepted by the asynchronous ingestion path, as stored in the vote journal
+ */
+@Value
+public class JournaledBallot {
+
+    String receiptId;
+    Long electionId;
+    Long candidateId;
+    String voterEmail;
+    long acceptedAtEpochMilli;
+}
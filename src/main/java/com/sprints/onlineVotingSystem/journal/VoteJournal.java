@@ -0,0 +1,317 @@
+package com.sprints.onlineVotingSystem.journal;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, fsync-batched log of accepted ballots.
+ * <p>
+ * Appends are queued and written by a single flusher thread, which syncs each batch to disk
+ * with one {@code force} call before completing the callers' futures (group commit).
+ * A checkpoint file records the offset up to which ballots are known to be in the database;
+ * everything after it is returned by {@link #open()} for replay. Once every written ballot is
+ * checkpointed and the log has grown past the compaction threshold, the log is truncated.
+ * <p>
+ * Each record is one line: {@code receiptId|electionId|candidateId|acceptedAt|voterEmail|crc32}.
+ * A torn or corrupt tail left by a crash is cut off when the journal is opened.
+ */
+@Slf4j
+public class VoteJournal implements Closeable {
+
+    private static final String LOG_FILE = "ballots.log";
+    private static final String CHECKPOINT_FILE = "ballots.checkpoint";
+    private static final char SEPARATOR = '|';
+
+    private final Path directory;
+    private final int maxBatch;
+    private final long compactAfterBytes;
+    private final BlockingQueue<PendingAppend> queue = new LinkedBlockingQueue<>();
+
+    private FileChannel channel;
+    private long position;
+    private long committedOffset;
+    private Thread flusher;
+    private volatile boolean closed;
+
+    public VoteJournal(Path directory, int maxBatch, long compactAfterBytes) {
+        this.directory = directory;
+        this.maxBatch = maxBatch;
+        this.compactAfterBytes = compactAfterBytes;
+    }
+
+    /**
+     * A journaled ballot and the log offset just past its record
+     */
+    @Value
+    public static class Entry {
+        JournaledBallot ballot;
+        long endOffset;
+    }
+
+    /**
+     * Opens the log and returns the ballots written after the last checkpoint, in log order
+     */
+    public synchronized List<Entry> open() throws IOException {
+        Files.createDirectories(directory);
+        channel = FileChannel.open(directory.resolve(LOG_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        committedOffset = readCheckpoint();
+        if (committedOffset > channel.size()) {
+            log.warn("Vote journal checkpoint {} is past the end of the log, replaying from the start", committedOffset);
+            committedOffset = 0;
+        }
+        List<Entry> uncommitted = readFrom(committedOffset);
+        position = uncommitted.isEmpty() ? committedOffset : uncommitted.get(uncommitted.size() - 1).getEndOffset();
+        if (position < channel.size()) {
+            log.warn("Truncating {} bytes of incomplete vote journal records", channel.size() - position);
+            channel.truncate(position);
+            channel.force(true);
+        }
+        return uncommitted;
+    }
+
+    /**
+     * Starts the flusher thread. {@code onDurable} receives each batch, in log order,
+     * right after it has been synced to disk.
+     */
+    public void start(Consumer<List<Entry>> onDurable) {
+        flusher = new Thread(() -> flushLoop(onDurable), "vote-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Queues a ballot for the next group commit
+     *
+     * @return A future completed once the ballot is durable on disk
+     */
+    public CompletableFuture<Entry> append(JournaledBallot ballot) {
+        PendingAppend pending = new PendingAppend(ballot, new CompletableFuture<>());
+        if (closed) {
+            pending.future.completeExceptionally(new IOException("Vote journal is closed"));
+        } else {
+            queue.add(pending);
+        }
+        return pending.future;
+    }
+
+    /**
+     * Records that every ballot up to {@code offset} is stored in the database,
+     * compacting the log when it has been fully drained
+     */
+    public synchronized void checkpoint(long offset) throws IOException {
+        if (offset <= committedOffset) {
+            return;
+        }
+        if (offset == position && position >= compactAfterBytes) {
+            // Reset the checkpoint first: a crash before the truncate only causes an idempotent replay
+            writeCheckpoint(0);
+            channel.truncate(0);
+            channel.force(true);
+            position = 0;
+            committedOffset = 0;
+            log.info("Compacted vote journal");
+            return;
+        }
+        writeCheckpoint(offset);
+        committedOffset = offset;
+    }
+
+    /**
+     * Stops the flusher after it has written everything already queued and closes the log
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (flusher != null) {
+            queue.add(PendingAppend.SHUTDOWN);
+            try {
+                flusher.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        PendingAppend leftover;
+        while ((leftover = queue.poll()) != null) {
+            if (leftover != PendingAppend.SHUTDOWN) {
+                leftover.future.completeExceptionally(new IOException("Vote journal is closed"));
+            }
+        }
+        synchronized (this) {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    private void flushLoop(Consumer<List<Entry>> onDurable) {
+        List<PendingAppend> batch = new ArrayList<>(maxBatch);
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            running = !batch.remove(PendingAppend.SHUTDOWN);
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                List<Entry> written = writeAndSync(batch);
+                for (int i = 0; i < written.size(); i++) {
+                    batch.get(i).future.complete(written.get(i));
+                }
+                onDurable.accept(written);
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to write {} ballots to the vote journal", batch.size(), e);
+                batch.forEach(pending -> pending.future.completeExceptionally(e));
+            }
+            batch.clear();
+        }
+    }
+
+    private synchronized List<Entry> writeAndSync(List<PendingAppend> batch) throws IOException {
+        List<byte[]> records = new ArrayList<>(batch.size());
+        int size = 0;
+        for (PendingAppend pending : batch) {
+            byte[] record = encode(pending.ballot);
+            records.add(record);
+            size += record.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        records.forEach(buffer::put);
+        buffer.flip();
+
+        long writeAt = position;
+        while (buffer.hasRemaining()) {
+            writeAt += channel.write(buffer, writeAt);
+        }
+        channel.force(false);
+
+        List<Entry> written = new ArrayList<>(batch.size());
+        long endOffset = position;
+        for (int i = 0; i < batch.size(); i++) {
+            endOffset += records.get(i).length;
+            written.add(new Entry(batch.get(i).ballot, endOffset));
+        }
+        position = endOffset;
+        return written;
+    }
+
+    private List<Entry> readFrom(long offset) throws IOException {
+        long length = channel.size() - offset;
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(length));
+        long readAt = offset;
+        while (buffer.hasRemaining() && channel.read(buffer, readAt) > 0) {
+            readAt = offset + buffer.position();
+        }
+        byte[] bytes = buffer.array();
+
+        List<Entry> entries = new ArrayList<>();
+        int lineStart = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            JournaledBallot ballot = decode(new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8));
+            if (ballot == null) {
+                log.warn("Corrupt vote journal record at offset {}", offset + lineStart);
+                break;
+            }
+            entries.add(new Entry(ballot, offset + i + 1));
+            lineStart = i + 1;
+        }
+        return entries;
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(checkpoint, StandardCharsets.UTF_8).trim());
+        } catch (NumberFormatException e) {
+            log.warn("Unreadable vote journal checkpoint, replaying from the start");
+            return 0;
+        }
+    }
+
+    private void writeCheckpoint(long offset) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(ByteBuffer.wrap(Long.toString(offset).getBytes(StandardCharsets.UTF_8)));
+            out.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static byte[] encode(JournaledBallot ballot) {
+        String payload = ballot.getReceiptId() + SEPARATOR + ballot.getElectionId() + SEPARATOR
+                + ballot.getCandidateId() + SEPARATOR + ballot.getAcceptedAtEpochMilli() + SEPARATOR
+                + ballot.getVoterEmail();
+        return (payload + SEPARATOR + Long.toHexString(crc(payload)) + '\n').getBytes(StandardCharsets.UTF_8);
+    }
+
+    static JournaledBallot decode(String line) {
+        int crcStart = line.lastIndexOf(SEPARATOR);
+        if (crcStart < 0) {
+            return null;
+        }
+        String payload = line.substring(0, crcStart);
+        try {
+            if (Long.parseLong(line.substring(crcStart + 1), 16) != crc(payload)) {
+                return null;
+            }
+            String[] fields = payload.split("\\|", 5);
+            if (fields.length != 5) {
+                return null;
+            }
+            return new JournaledBallot(fields[0], Long.valueOf(fields[1]), Long.valueOf(fields[2]),
+                    fields[4], Long.parseLong(fields[3]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long crc(String payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private static final class PendingAppend {
+
+        static final PendingAppend SHUTDOWN = new PendingAppend(null, null);
+
+        final JournaledBallot ballot;
+        final CompletableFuture<Entry> future;
+
+        PendingAppend(JournaledBallot ballot, CompletableFuture<Entry> future) {
+            this.ballot = ballot;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.sprints.onlineVotingSystem.migration;
+
+import com.sprints.onlineVotingSystem.util.CityNames;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Fills users.city_id for voters registered before the city dimension existed.
+ * <p>
+ * Every distinct spelling is mapped to the city of its {@link CityNames#lookupKey}; the most
+ * common spelling of each city becomes its display name and is written back to users.city.
+ * Written in Java because accent folding and locale-aware lower-casing are not portable SQL.
+ * Spring Boot hands this bean to Flyway, so it runs for every vendor after V3.
+ */
+@Component
+@Slf4j
+public class V4__Normalize_voter_cities extends BaseJavaMigration {
+
+    private final Locale locale;
+
+    public V4__Normalize_voter_cities(@Value("${voting.city.locale:en}") String locale) {
+        this.locale = Locale.forLanguageTag(locale);
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+
+        // Most frequent spelling first, so it is the one that names the city
+        List<String> spellings = new ArrayList<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT city FROM users WHERE city_id IS NULL GROUP BY city ORDER BY COUNT(*) DESC, city");
+             ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                spellings.add(rs.getString(1));
+            }
+        }
+
+        Map<String, Integer> cityIds = new HashMap<>();
+        Map<String, String> displayNames = new HashMap<>();
+        int updated = 0;
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE users SET city_id = ?, city = ? WHERE city = ? AND city_id IS NULL")) {
+            for (String spelling : spellings) {
+                String key = CityNames.lookupKey(spelling, locale);
+                if (key.isEmpty()) {
+                    continue; // left unassigned, as VotingService already treats blank cities
+                }
+                if (!cityIds.containsKey(key)) {
+                    findOrInsertCity(connection, CityNames.displayName(spelling), key, cityIds, displayNames);
+                }
+                update.setInt(1, cityIds.get(key));
+                update.setString(2, displayNames.get(key));
+                update.setString(3, spelling);
+                updated += update.executeUpdate();
+            }
+        }
+        log.info("Normalized {} voter cities into {} cities", updated, cityIds.size());
+    }
+
+    private void findOrInsertCity(Connection connection, String displayName, String key,
+                                  Map<String, Integer> cityIds, Map<String, String> displayNames) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("SELECT id, name FROM city WHERE normalized_name = ?")) {
+            select.setString(1, key);
+            try (ResultSet rs = select.executeQuery()) {
+                if (rs.next()) {
+                    cityIds.put(key, rs.getInt(1));
+                    displayNames.put(key, rs.getString(2));
+                    return;
+                }
+            }
+        }
+        cityIds.put(key, insertCity(connection, displayName, key));
+        displayNames.put(key, displayName);
+    }
+
+    private int insertCity(Connection connection, String displayName, String key) throws SQLException {
+        int id;
+        try (PreparedStatement next = connection.prepareStatement("SELECT NEXT VALUE FOR city_seq");
+             ResultSet rs = next.executeQuery()) {
+            rs.next();
+            id = rs.getInt(1);
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO city (id, name, normalized_name) VALUES (?, ?, ?)")) {
+            insert.setInt(1, id);
+            insert.setString(2, displayName);
+            insert.setString(3, key);
+            insert.executeUpdate();
+        }
+        return id;
+    }
+}
@@ -1,26 +1,64 @@
 package com.sprints.onlineVotingSystem.repository;
 
+import com.sprints.onlineVotingSystem.config.CacheConfig;
 import com.sprints.onlineVotingSystem.domain.Candidate;
+import com.sprints.onlineVotingSystem.dto.CandidateDTO;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface CandidateRepository extends CrudRepository<Candidate, Long> {
+public interface CandidateRepository extends JpaRepository<Candidate, Long> {
     
-    List<Candidate> findByElectionId(Long electionId);
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CANDIDATES, key = "#p0", unless = "#result == null")
+    Optional<Candidate> findById(Long id);
+    
+    // admin listings serialize each candidate with its election
+    @Override
+    @EntityGraph(attributePaths = "election")
+    List<Candidate> findAll();
+    
+    // explicit query: the derived one joins election and cannot seek idx_candidate_election
+    @Query("SELECT c FROM Candidate c WHERE c.election.id = :electionId ORDER BY c.id")
+    List<Candidate> findByElectionId(@Param("electionId") Long electionId);
+    
+    /**
+     * Candidate listing built directly from one candidate/election join, without loading entities.
+     * The inner join drops no candidate: candidate.election_id is NOT NULL with a foreign key to election.
+     */
+    @Query("SELECT new com.sprints.onlineVotingSystem.dto.CandidateDTO(c.id, c.name, e.title) " +
+           "FROM Candidate c JOIN c.election e " +
+           "ORDER BY c.id")
+    List<CandidateDTO> findAllCandidateDTOs();
+    
+    @Query("SELECT new com.sprints.onlineVotingSystem.dto.CandidateDTO(c.id, c.name, e.title) " +
+           "FROM Candidate c JOIN c.election e " +
+           "WHERE c.election.id = :electionId " +
+           "ORDER BY c.id")
+    List<CandidateDTO> findCandidateDTOsByElectionId(@Param("electionId") Long electionId);
+    
+    @Query("SELECT c FROM Candidate c JOIN FETCH c.election WHERE c.id > :afterId ORDER BY c.id")
+    List<Candidate> findAllWithElectionAfter(@Param("afterId") Long afterId, Limit limit);
     
     @Query("SELECT c FROM Candidate c WHERE c.name LIKE %:name%")
     List<Candidate> findByCandidateNameContaining(@Param("name") String name);
     
+    @CacheEvict(cacheNames = CacheConfig.CANDIDATES, key = "#p0")
     @Modifying
     @Query("UPDATE Candidate c SET c.name = :name WHERE c.id = :id")
     int updateCandidateName(@Param("id") Long id, @Param("name") String name);
     
+    @CacheEvict(cacheNames = CacheConfig.CANDIDATES, allEntries = true)
     @Modifying
     @Query("DELETE FROM Candidate c WHERE c.election.id = :electionId")
     int deleteByElectionId(@Param("electionId") Long electionId);
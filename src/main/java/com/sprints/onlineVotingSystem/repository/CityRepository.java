@@ -0,0 +1,12 @@
+package com.sprints.onlineVotingSystem.repository;
+
+import com.sprints.onlineVotingSystem.domain.City;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CityRepository extends JpaRepository<City, Integer> {
+    Optional<City> findByNormalizedName(String normalizedName);
+}
@@ -1,9 +1,21 @@
 package com.sprints.onlineVotingSystem.repository;
 
+import com.sprints.onlineVotingSystem.config.CacheConfig;
 import com.sprints.onlineVotingSystem.domain.Election;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ElectionRepository extends JpaRepository<Election, Long> {
+    
+    @Override
+    @Cacheable(cacheNames = CacheConfig.ELECTIONS, key = "#p0", unless = "#result == null")
+    Optional<Election> findById(Long id);
+    
+    List<Election> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
@@ -3,12 +3,22 @@ package com.sprints.onlineVotingSystem.repository;
 import com.sprints.onlineVotingSystem.domain.Election;
 import com.sprints.onlineVotingSystem.domain.Voter;
 import com.sprints.onlineVotingSystem.dto.CandidateResultDTO;
+import com.sprints.onlineVotingSystem.dto.CandidateVoteCountDTO;
+import com.sprints.onlineVotingSystem.dto.CityVoteCountDTO;
 import com.sprints.onlineVotingSystem.domain.Vote;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface VoteRepository extends JpaRepository<Vote, Long> {
@@ -20,8 +30,75 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
            "ORDER BY COUNT(v) DESC")
     List<CandidateResultDTO> getCandidateVoteCounts();
     
+    /**
+     * Streams the vote counts of one election's candidates, sorted by vote count in descending order.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query("SELECT new com.sprints.onlineVotingSystem.dto.CandidateResultDTO(c.name, COUNT(v)) " +
+           "FROM Vote v " +
+           "JOIN v.candidate c " +
+           "WHERE v.election.id = :electionId " +
+           "GROUP BY c.id, c.name " +
+           "ORDER BY COUNT(v) DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<CandidateResultDTO> streamCandidateVoteCountsByElection(@Param("electionId") Long electionId);
+    
+    @Query("SELECT new com.sprints.onlineVotingSystem.dto.CandidateVoteCountDTO(c.id, c.election.id, c.name, COUNT(v)) " +
+           "FROM Vote v " +
+           "JOIN v.candidate c " +
+           "GROUP BY c.id, c.election.id, c.name")
+    List<CandidateVoteCountDTO> getVoteCountsPerCandidate();
+    
+    /**
+     * Counts the votes of every election per city of the voter, for turnout reconciliation
+     */
+    @Query("SELECT new com.sprints.onlineVotingSystem.dto.CityVoteCountDTO(v.election.id, u.cityId, COUNT(v)) " +
+           "FROM Vote v " +
+           "JOIN v.voter u " +
+           "WHERE u.cityId IS NOT NULL " +
+           "GROUP BY v.election.id, u.cityId")
+    List<CityVoteCountDTO> getVoteCountsPerElectionAndCity();
+    
     /**
      * Checks if a voter has already voted in a specific election
      */
     boolean existsByVoterAndElection(Voter voter, Election election);
+    
+    /**
+     * Checks if a ballot accepted by the asynchronous ingestion path has been stored
+     */
+    boolean existsByReceiptId(String receiptId);
+    
+    /**
+     * Inserts a vote in a single statement, but only if the voter exists and is assigned to a city,
+     * the election is open on the given day, the candidate belongs to the election and the voter
+     * has not voted in it yet. Returns the number of inserted rows (0 or 1).
+     */
+    default int insertVoteIfEligible(String voterEmail, Long electionId, Long candidateId,
+                                     LocalDate today, LocalDateTime voteTime) {
+        return insertVoteWithReceiptIfEligible(null, voterEmail, electionId, candidateId, today, voteTime);
+    }
+    
+    /**
+     * Same as {@link #insertVoteIfEligible} but also stores the receipt ID of an asynchronously accepted ballot.
+     * The ID is a fresh vote_seq value; with the pooled-lo optimizer every sequence value starts a block
+     * of its own, so it never collides with IDs Hibernate hands out.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO vote (id, vote_time, receipt_id, candidate_id, election_id, voter_id) " +
+                   "SELECT NEXT VALUE FOR vote_seq, :voteTime, :receiptId, c.id, e.id, u.id " +
+                   "FROM users u " +
+                   "JOIN election e ON e.id = :electionId " +
+                   "JOIN candidate c ON c.id = :candidateId AND c.election_id = e.id " +
+                   "WHERE u.email = :voterEmail " +
+                   "AND u.city_id IS NOT NULL " +
+                   "AND e.start_date <= :today AND e.end_date >= :today " +
+                   "AND NOT EXISTS (SELECT 1 FROM vote v WHERE v.voter_id = u.id AND v.election_id = e.id)",
+           nativeQuery = true)
+    int insertVoteWithReceiptIfEligible(@Param("receiptId") String receiptId,
+                                        @Param("voterEmail") String voterEmail,
+                                        @Param("electionId") Long electionId,
+                                        @Param("candidateId") Long candidateId,
+                                        @Param("today") LocalDate today,
+                                        @Param("voteTime") LocalDateTime voteTime);
 }
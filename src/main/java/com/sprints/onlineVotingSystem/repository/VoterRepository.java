@@ -1,29 +1,72 @@
 package com.sprints.onlineVotingSystem.repository;
 
+import com.sprints.onlineVotingSystem.domain.City;
 import com.sprints.onlineVotingSystem.domain.Voter;
+import com.sprints.onlineVotingSystem.dto.CityVoterCountDTO;
+import com.sprints.onlineVotingSystem.dto.VoterCityDTO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface VoterRepository extends CrudRepository<Voter, Long> {
+public interface VoterRepository extends JpaRepository<Voter, Long> {
     Optional<Voter> findByEmail(String email);
     boolean existsByEmail(String email);
-    List<Voter> findByCity(String city);
+    
+    @Query("SELECT v.email FROM Voter v WHERE v.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    // Per-city queries filter on the integer city dimension key, resolved through CityDirectory
+    long countByCityId(Integer cityId);
+    List<Voter> findByCityIdAndIdGreaterThanOrderByIdAsc(Integer cityId, Long afterId, Limit limit);
+    
+    @Query("SELECT v.id FROM Voter v WHERE v.cityId = :cityId AND v.id > :afterId ORDER BY v.id")
+    List<Long> findIdsByCityIdAfter(@Param("cityId") Integer cityId, @Param("afterId") Long afterId, Limit limit);
+    
+    // City updates take the key and the display spelling from the same City, like Voter.assignCity
+    @Modifying
+    @Query("UPDATE Voter v SET v.cityRef = :city, v.city = :#{#city.name} WHERE v.id = :id")
+    int updateVoterCity(@Param("id") Long id, @Param("city") City city);
     
     @Modifying
-    @Query("UPDATE Voter v SET v.city = :city WHERE v.id = :id")
-    int updateVoterCity(@Param("id") Long id, @Param("city") String city);
+    @Query("UPDATE Voter v SET v.cityRef = :city, v.city = :#{#city.name} WHERE v.id IN :ids")
+    int updateCityForIds(@Param("ids") Collection<Long> ids, @Param("city") City city);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Voter v SET v.passwordHash = :passwordHash WHERE v.id = :id")
+    int updatePasswordHash(@Param("id") Long id, @Param("passwordHash") String passwordHash);
     
     @Modifying
     @Query("DELETE FROM Voter v WHERE v.email = :email")
     int deleteByEmail(@Param("email") String email);
     
-    @Query("SELECT v FROM Voter v WHERE v.city = :city AND v.role = 'VOTER'")
-    List<Voter> findEligibleVotersByCity(@Param("city") String city);
+    @Query("SELECT v FROM Voter v WHERE v.cityId = :cityId AND v.role = 'VOTER'")
+    List<Voter> findEligibleVotersByCity(@Param("cityId") Integer cityId);
+    
+    /**
+     * Counts the voters findEligibleVotersByCity returns, for every city at once
+     */
+    @Query("SELECT new com.sprints.onlineVotingSystem.dto.CityVoterCountDTO(v.cityId, COUNT(v)) " +
+           "FROM Voter v WHERE v.cityId IS NOT NULL AND v.role = 'VOTER' GROUP BY v.cityId")
+    List<CityVoterCountDTO> countEligibleVotersPerCity();
+    
+    @Query("SELECT v.cityId FROM Voter v WHERE v.email = :email")
+    Optional<Integer> findCityIdByEmail(@Param("email") String email);
+    
+    /**
+     * Looks up the cities of several voters at once; voters without a city are left out
+     */
+    @Query("SELECT new com.sprints.onlineVotingSystem.dto.VoterCityDTO(v.email, v.cityId) " +
+           "FROM Voter v WHERE v.email IN :emails AND v.cityId IS NOT NULL")
+    List<VoterCityDTO> findCityIdsByEmails(@Param("emails") Collection<String> emails);
 }
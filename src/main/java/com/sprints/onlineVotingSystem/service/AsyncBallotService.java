@@ -0,0 +1,399 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sprints.onlineVotingSystem.domain.BallotStatus;
+import com.sprints.onlineVotingSystem.domain.Candidate;
+import com.sprints.onlineVotingSystem.domain.Election;
+import com.sprints.onlineVotingSystem.dto.BallotReceiptDTO;
+import com.sprints.onlineVotingSystem.dto.VoteRequestDTO;
+import com.sprints.onlineVotingSystem.dto.VoterCityDTO;
+import com.sprints.onlineVotingSystem.event.VoteCastEvent;
+import com.sprints.onlineVotingSystem.exception.BadRequestException;
+import com.sprints.onlineVotingSystem.exception.ResourceNotFoundException;
+import com.sprints.onlineVotingSystem.exception.ServiceUnavailableException;
+import com.sprints.onlineVotingSystem.exception.VotingClosedException;
+import com.sprints.onlineVotingSystem.journal.JournaledBallot;
+import com.sprints.onlineVotingSystem.journal.VoteJournal;
+import com.sprints.onlineVotingSystem.repository.CandidateRepository;
+import com.sprints.onlineVotingSystem.repository.ElectionRepository;
+import com.sprints.onlineVotingSystem.repository.VoteRepository;
+import com.sprints.onlineVotingSystem.repository.VoterRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Accepts ballots asynchronously. A ballot that passes the in-memory checks is appended to the
+ * {@link VoteJournal} and acknowledged with a receipt as soon as it is durable on disk; a background
+ * writer then inserts journaled ballots into the vote table in batches and checkpoints the journal.
+ * Ballots left in the journal by a crash or shutdown are replayed on startup.
+ */
+@Service
+@ConditionalOnProperty(name = "voting.async.enabled", havingValue = "true")
+@Slf4j
+public class AsyncBallotService {
+
+    private static final String REJECTED_MESSAGE =
+            "Ballot was not recorded: the voter already voted, is not assigned to a city, or the election closed";
+    private static final long RETRY_BACKOFF_MILLIS = 1000;
+
+    private final VoteJournal journal;
+    private final VoteRepository voteRepository;
+    private final VoterRepository voterRepository;
+    private final ElectionRepository electionRepository;
+    private final CandidateRepository candidateRepository;
+    private final VotingWindowEvaluator votingWindowEvaluator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final int batchSize;
+    private final int maxPending;
+    private final long appendTimeoutMillis;
+
+    private final BlockingQueue<VoteJournal.Entry> writeQueue = new LinkedBlockingQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Set<String> pendingVoters = ConcurrentHashMap.newKeySet();
+    // Receipts of ballots not yet written stay here until their batch is, so the cache can never evict them
+    private final Map<String, BallotReceiptDTO> pendingReceipts = new ConcurrentHashMap<>();
+    private final Cache<String, BallotReceiptDTO> receipts;
+
+    private Thread writer;
+    private volatile boolean running;
+
+    @Autowired
+    public AsyncBallotService(VoteRepository voteRepository,
+                              VoterRepository voterRepository,
+                              ElectionRepository electionRepository,
+                              CandidateRepository candidateRepository,
+                              VotingWindowEvaluator votingWindowEvaluator,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher,
+                              Clock clock,
+                              @Value("${voting.async.journal-dir:data/vote-journal}") String journalDir,
+                              @Value("${voting.async.batch-size:200}") int batchSize,
+                              @Value("${voting.async.max-pending:50000}") int maxPending,
+                              @Value("${voting.async.append-timeout-ms:1000}") long appendTimeoutMillis,
+                              @Value("${voting.async.compact-after-bytes:67108864}") long compactAfterBytes,
+                              @Value("${voting.async.receipt-retention-minutes:60}") long receiptRetentionMinutes) {
+        this(new VoteJournal(Path.of(journalDir), batchSize, compactAfterBytes), voteRepository, voterRepository,
+                electionRepository, candidateRepository, votingWindowEvaluator, new TransactionTemplate(transactionManager), eventPublisher,
+                clock, batchSize, maxPending, appendTimeoutMillis, Duration.ofMinutes(receiptRetentionMinutes));
+    }
+
+    AsyncBallotService(VoteJournal journal,
+                       VoteRepository voteRepository,
+                       VoterRepository voterRepository,
+                       ElectionRepository electionRepository,
+                       CandidateRepository candidateRepository,
+                       VotingWindowEvaluator votingWindowEvaluator,
+                       TransactionTemplate transactionTemplate,
+                       ApplicationEventPublisher eventPublisher,
+                       Clock clock,
+                       int batchSize,
+                       int maxPending,
+                       long appendTimeoutMillis,
+                       Duration receiptRetention) {
+        this.journal = journal;
+        this.voteRepository = voteRepository;
+        this.voterRepository = voterRepository;
+        this.electionRepository = electionRepository;
+        this.candidateRepository = candidateRepository;
+        this.votingWindowEvaluator = votingWindowEvaluator;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.appendTimeoutMillis = appendTimeoutMillis;
+        this.receipts = Caffeine.newBuilder()
+                .maximumSize(Math.max(10_000L, maxPending * 4L))
+                .expireAfterWrite(receiptRetention)
+                .build();
+    }
+
+    /**
+     * Opens the journal, queues ballots left over from the previous run and starts the writer
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        List<VoteJournal.Entry> replay = journal.open();
+        if (!replay.isEmpty()) {
+            log.info("Replaying {} journaled ballots", replay.size());
+        }
+        replay.forEach(this::trackPending);
+        writeQueue.addAll(replay);
+        journal.start(writeQueue::addAll);
+
+        running = true;
+        writer = new Thread(this::writeLoop, "vote-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops accepting ballots, lets the writer finish its current batch and closes the journal.
+     * Ballots not yet written to the database stay in the journal and are replayed on the next start.
+     */
+    @PreDestroy
+    public synchronized void stop() throws IOException, InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        journal.close();
+    }
+
+    /**
+     * Validates a ballot against cached election data, appends it to the journal and returns a receipt.
+     * Voter eligibility and duplicate votes across restarts are checked when the ballot is written.
+     *
+     * @param voteRequest The voting request containing candidate and election IDs
+     * @param voterEmail The email of the authenticated voter
+     * @return A receipt with status PENDING
+     * @throws VotingClosedException if voting is outside the allowed time window
+     * @throws BadRequestException if the request is invalid or a ballot from this voter is already pending
+     * @throws ResourceNotFoundException if the election or candidate does not exist
+     * @throws ServiceUnavailableException if the backlog is full or the journal is not writable
+     */
+    public BallotReceiptDTO submit(VoteRequestDTO voteRequest, String voterEmail) {
+        if (!running) {
+            throw new ServiceUnavailableException("Ballot intake is not ready, please retry shortly", 1);
+        }
+        validateBallot(voteRequest, voterEmail);
+
+        String voterKey = voterKey(voteRequest.getElectionId(), voterEmail);
+        if (!pendingVoters.add(voterKey)) {
+            throw new BadRequestException("You have already voted in this election");
+        }
+        if (pendingCount.incrementAndGet() > maxPending) {
+            release(voterKey);
+            throw new ServiceUnavailableException("Ballot backlog is full, please retry shortly", 1);
+        }
+
+        JournaledBallot ballot = new JournaledBallot(UUID.randomUUID().toString(), voteRequest.getElectionId(),
+                voteRequest.getCandidateId(), voterEmail, clock.millis());
+        BallotReceiptDTO receipt = new BallotReceiptDTO(ballot.getReceiptId(), ballot.getElectionId(),
+                BallotStatus.PENDING, "Ballot accepted");
+        pendingReceipts.put(receipt.getReceiptId(), receipt);
+        CompletableFuture<VoteJournal.Entry> durable = journal.append(ballot);
+        durable.whenComplete((entry, error) -> {
+            if (error != null) {
+                pendingReceipts.remove(ballot.getReceiptId());
+                release(voterKey);
+            }
+        });
+        try {
+            durable.get(appendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw appendFailed(ballot, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw appendFailed(ballot, e);
+        }
+
+        log.debug("Ballot {} journaled for voter {} in election {}", ballot.getReceiptId(), voterEmail, ballot.getElectionId());
+        return receipt;
+    }
+
+    /**
+     * Looks up the status of a receipt
+     *
+     * @param receiptId The receipt ID returned by {@link #submit}
+     * @return The receipt with its current status
+     * @throws ResourceNotFoundException if the receipt is unknown
+     */
+    public BallotReceiptDTO getReceipt(String receiptId) {
+        BallotReceiptDTO receipt = pendingReceipts.get(receiptId);
+        if (receipt == null) {
+            receipt = receipts.getIfPresent(receiptId);
+        }
+        if (receipt != null) {
+            return receipt;
+        }
+        if (voteRepository.existsByReceiptId(receiptId)) {
+            return new BallotReceiptDTO(receiptId, null, BallotStatus.COMMITTED, "Ballot recorded");
+        }
+        throw new ResourceNotFoundException("Ballot receipt not found: " + receiptId);
+    }
+
+    private void validateBallot(VoteRequestDTO voteRequest, String voterEmail) {
+        if (voteRequest.getCandidateId() == null) {
+            throw new BadRequestException("Candidate ID is required");
+        }
+        if (voteRequest.getElectionId() == null) {
+            throw new BadRequestException("Election ID is required");
+        }
+        if (voterEmail == null || voterEmail.isBlank() || voterEmail.indexOf('\n') >= 0 || voterEmail.indexOf('\r') >= 0) {
+            throw new BadRequestException("A valid voter email is required");
+        }
+
+        Election election = electionRepository.findById(voteRequest.getElectionId())
+                .orElseThrow(() -> new ResourceNotFoundException("Election not found with ID: " + voteRequest.getElectionId()));
+        if (election.getStartDate() == null || election.getEndDate() == null) {
+            throw new BadRequestException("Election dates are not properly configured");
+        }
+        switch (votingWindowEvaluator.status(election)) {
+            case NOT_STARTED -> throw new VotingClosedException("Voting has not started yet. Election begins on " + election.getStartDate());
+            case CLOSED -> throw new VotingClosedException("Voting has ended. Election closed on " + election.getEndDate());
+            default -> { }
+        }
+
+        Candidate candidate = candidateRepository.findById(voteRequest.getCandidateId())
+                .orElseThrow(() -> new ResourceNotFoundException("Candidate not found with ID: " + voteRequest.getCandidateId()));
+        if (!election.getId().equals(candidate.getElection().getId())) {
+            throw new BadRequestException("Candidate does not belong to the specified election");
+        }
+    }
+
+    private ServiceUnavailableException appendFailed(JournaledBallot ballot, Exception cause) {
+        // After a timeout the ballot may still reach the journal, so its receipt stays valid
+        log.error("Could not journal ballot {} in time", ballot.getReceiptId(), cause);
+        return new ServiceUnavailableException("Ballot could not be accepted, please check your receipt or retry shortly", 1, cause);
+    }
+
+    private void writeLoop() {
+        List<VoteJournal.Entry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    VoteJournal.Entry first = writeQueue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    writeQueue.drainTo(batch, batchSize - 1);
+                }
+                writeBatch(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException | IOException e) {
+                // Keep the batch and retry; the journal still holds it if the process stops
+                log.error("Failed to write {} journaled ballots, retrying", batch.size(), e);
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts a batch in one transaction, falling back to one transaction per ballot when the
+     * batch fails on a constraint, then checkpoints the journal past the batch
+     */
+    void writeBatch(List<VoteJournal.Entry> batch) throws IOException {
+        Map<String, Integer> cityIds = cityIdsOf(batch);
+        List<BallotStatus> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> batch.stream().map(entry -> insert(entry, cityIds)).toList());
+        } catch (DataIntegrityViolationException e) {
+            outcomes = new ArrayList<>(batch.size());
+            for (VoteJournal.Entry entry : batch) {
+                outcomes.add(insertAlone(entry, cityIds));
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i).getBallot(), outcomes.get(i));
+        }
+        journal.checkpoint(batch.get(batch.size() - 1).getEndOffset());
+    }
+
+    /**
+     * Reads the cities of all voters in a batch with one query, for the events of the inserted ballots
+     */
+    private Map<String, Integer> cityIdsOf(List<VoteJournal.Entry> batch) {
+        Set<String> emails = batch.stream().map(entry -> entry.getBallot().getVoterEmail()).collect(Collectors.toSet());
+        return voterRepository.findCityIdsByEmails(emails).stream()
+                .collect(Collectors.toMap(VoterCityDTO::getEmail, VoterCityDTO::getCityId));
+    }
+
+    private BallotStatus insertAlone(VoteJournal.Entry entry, Map<String, Integer> cityIds) {
+        try {
+            return transactionTemplate.execute(status -> insert(entry, cityIds));
+        } catch (DataIntegrityViolationException e) {
+            return BallotStatus.REJECTED;
+        }
+    }
+
+    private BallotStatus insert(VoteJournal.Entry entry, Map<String, Integer> cityIds) {
+        JournaledBallot ballot = entry.getBallot();
+        LocalDateTime acceptedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(ballot.getAcceptedAtEpochMilli()), clock.getZone());
+        int inserted = voteRepository.insertVoteWithReceiptIfEligible(ballot.getReceiptId(), ballot.getVoterEmail(),
+                ballot.getElectionId(), ballot.getCandidateId(), acceptedAt.toLocalDate(), acceptedAt);
+        if (inserted == 1) {
+            eventPublisher.publishEvent(new VoteCastEvent(ballot.getElectionId(), ballot.getCandidateId(), null,
+                    ballot.getVoterEmail(), cityIds.get(ballot.getVoterEmail())));
+            return BallotStatus.COMMITTED;
+        }
+        // Replayed ballots that were already stored before the last checkpoint are not rejections
+        return voteRepository.existsByReceiptId(ballot.getReceiptId()) ? BallotStatus.COMMITTED : BallotStatus.REJECTED;
+    }
+
+    private void complete(JournaledBallot ballot, BallotStatus status) {
+        String message = status == BallotStatus.COMMITTED ? "Ballot recorded" : REJECTED_MESSAGE;
+        receipts.put(ballot.getReceiptId(), new BallotReceiptDTO(ballot.getReceiptId(), ballot.getElectionId(), status, message));
+        pendingReceipts.remove(ballot.getReceiptId());
+        release(voterKey(ballot.getElectionId(), ballot.getVoterEmail()));
+        if (status == BallotStatus.REJECTED) {
+            log.warn("Journaled ballot {} for voter {} was rejected", ballot.getReceiptId(), ballot.getVoterEmail());
+        }
+    }
+
+    private void trackPending(VoteJournal.Entry entry) {
+        JournaledBallot ballot = entry.getBallot();
+        pendingVoters.add(voterKey(ballot.getElectionId(), ballot.getVoterEmail()));
+        pendingCount.incrementAndGet();
+        pendingReceipts.put(ballot.getReceiptId(), new BallotReceiptDTO(ballot.getReceiptId(), ballot.getElectionId(),
+                BallotStatus.PENDING, "Ballot accepted"));
+    }
+
+    private void release(String voterKey) {
+        pendingVoters.remove(voterKey);
+        pendingCount.decrementAndGet();
+    }
+
+    private static String voterKey(Long electionId, String voterEmail) {
+        return electionId + ":" + voterEmail.toLowerCase(Locale.ROOT);
+    }
+}
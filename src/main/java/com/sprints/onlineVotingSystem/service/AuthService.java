@@ -7,11 +7,16 @@ import com.sprints.onlineVotingSystem.dto.LoginResponseDTO;
 import com.sprints.onlineVotingSystem.exception.BadRequestException;
 import com.sprints.onlineVotingSystem.repository.VoterRepository;
 import com.sprints.onlineVotingSystem.util.JwtUtil;
+import com.sprints.onlineVotingSystem.util.LogEvents;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.function.Supplier;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -20,6 +25,8 @@ public class AuthService {
     private final VoterRepository voterRepository;
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
+    private final LoginAttemptService loginAttemptService;
+    private final MeterRegistry meterRegistry;
     
     /**
      * Authenticates a voter and returns a JWT token
@@ -29,7 +36,24 @@ public class AuthService {
      * @throws BadRequestException if credentials are invalid
      */
     public LoginResponseDTO authenticateVoter(LoginRequestDTO loginRequest) {
-        log.info("Attempting to authenticate voter with email: {}", loginRequest.getEmail());
+        return authenticateVoter(loginRequest, null);
+    }
+
+    /**
+     * Authenticates a voter, throttling repeated failures per email and client IP
+     * 
+     * @param loginRequest The login credentials
+     * @param clientIp The client address, or null if unknown
+     * @return LoginResponseDTO containing the JWT token and user info
+     * @throws BadRequestException if credentials are invalid
+     * @throws com.sprints.onlineVotingSystem.exception.TooManyRequestsException if too many attempts failed recently
+     */
+    public LoginResponseDTO authenticateVoter(LoginRequestDTO loginRequest, String clientIp) {
+        return timeLogin("voter", () -> loginVoter(loginRequest, clientIp));
+    }
+
+    private LoginResponseDTO loginVoter(LoginRequestDTO loginRequest, String clientIp) {
+        log.debug("Attempting to authenticate voter with email: {}", loginRequest.getEmail());
         
         // Validate input
         if (loginRequest.getEmail() == null || loginRequest.getEmail().trim().isEmpty()) {
@@ -39,14 +63,17 @@ public class AuthService {
             throw new BadRequestException("Password is required");
         }
         
+        // Reject throttled emails and IPs before any lookup or hashing
+        loginAttemptService.checkAllowed(loginRequest.getEmail(), clientIp);
+        
         // Find voter by email
         Voter voter = voterRepository.findByEmail(loginRequest.getEmail())
-                .orElseThrow(() -> new BadRequestException("Invalid email or password"));
+                .orElseThrow(() -> rejectCredentials(loginRequest.getEmail(), clientIp));
         
         // Verify password
         if (!passwordEncoder.matches(loginRequest.getPassword(), voter.getPasswordHash())) {
             log.warn("Failed login attempt for email: {}", loginRequest.getEmail());
-            throw new BadRequestException("Invalid email or password");
+            throw rejectCredentials(loginRequest.getEmail(), clientIp);
         }
         
         // Verify role is VOTER
@@ -55,10 +82,17 @@ public class AuthService {
             throw new BadRequestException("Access denied. Voter role required.");
         }
         
+        // Clear failure history
+        loginAttemptService.recordSuccess(voter.getEmail());
+        
+        // Upgrade weak password hash
+        upgradePasswordHashIfNeeded(voter, loginRequest.getPassword());
+        
         // Generate JWT token
         String token = jwtUtil.generateToken(voter.getEmail(), voter.getRole().name());
         
-        log.info("Successful authentication for voter: {}", voter.getEmail());
+        log.atInfo().addKeyValue(LogEvents.EVENT, LogEvents.LOGIN_SUCCEEDED)
+                .log("Successful authentication for voter: {}", voter.getEmail());
         
         return new LoginResponseDTO(
                 token,
@@ -76,7 +110,24 @@ public class AuthService {
      * @throws BadRequestException if credentials are invalid
      */
     public LoginResponseDTO authenticateAdmin(LoginRequestDTO loginRequest) {
-        log.info("Attempting to authenticate admin with email: {}", loginRequest.getEmail());
+        return authenticateAdmin(loginRequest, null);
+    }
+
+    /**
+     * Authenticates an admin, throttling repeated failures per email and client IP
+     * 
+     * @param loginRequest The login credentials
+     * @param clientIp The client address, or null if unknown
+     * @return LoginResponseDTO containing the JWT token and user info
+     * @throws BadRequestException if credentials are invalid
+     * @throws com.sprints.onlineVotingSystem.exception.TooManyRequestsException if too many attempts failed recently
+     */
+    public LoginResponseDTO authenticateAdmin(LoginRequestDTO loginRequest, String clientIp) {
+        return timeLogin("admin", () -> loginAdmin(loginRequest, clientIp));
+    }
+
+    private LoginResponseDTO loginAdmin(LoginRequestDTO loginRequest, String clientIp) {
+        log.debug("Attempting to authenticate admin with email: {}", loginRequest.getEmail());
         
         // Validate input
         if (loginRequest.getEmail() == null || loginRequest.getEmail().trim().isEmpty()) {
@@ -86,14 +137,17 @@ public class AuthService {
             throw new BadRequestException("Password is required");
         }
         
+        // Reject throttled emails and IPs before any lookup or hashing
+        loginAttemptService.checkAllowed(loginRequest.getEmail(), clientIp);
+        
         // Find admin by email
         Voter admin = voterRepository.findByEmail(loginRequest.getEmail())
-                .orElseThrow(() -> new BadRequestException("Invalid email or password"));
+                .orElseThrow(() -> rejectCredentials(loginRequest.getEmail(), clientIp));
         
         // Verify password
         if (!passwordEncoder.matches(loginRequest.getPassword(), admin.getPasswordHash())) {
             log.warn("Failed admin login attempt for email: {}", loginRequest.getEmail());
-            throw new BadRequestException("Invalid email or password");
+            throw rejectCredentials(loginRequest.getEmail(), clientIp);
         }
         
         // Verify role is ADMIN
@@ -102,10 +156,17 @@ public class AuthService {
             throw new BadRequestException("Access denied. Admin role required.");
         }
         
+        // Clear failure history
+        loginAttemptService.recordSuccess(admin.getEmail());
+        
+        // Upgrade weak password hash
+        upgradePasswordHashIfNeeded(admin, loginRequest.getPassword());
+        
         // Generate JWT token
         String token = jwtUtil.generateToken(admin.getEmail(), admin.getRole().name());
         
-        log.info("Successful authentication for admin: {}", admin.getEmail());
+        log.atInfo().addKeyValue(LogEvents.EVENT, LogEvents.LOGIN_SUCCEEDED)
+                .log("Successful authentication for admin: {}", admin.getEmail());
         
         return new LoginResponseDTO(
                 token,
@@ -114,4 +175,48 @@ public class AuthService {
                 "Admin login successful"
         );
     }
+
+    /**
+     * Records the duration of a login attempt, tagged with the role and with the exception type
+     * when it fails (bad credentials, throttled, BCrypt pool busy)
+     */
+    private LoginResponseDTO timeLogin(String role, Supplier<LoginResponseDTO> login) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return login.get();
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("auth.login")
+                    .description("Duration of login attempts, including the BCrypt check")
+                    .tag("role", role)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Re-hashes the password at the configured BCrypt strength when the stored hash is weaker.
+     * A failed upgrade is logged and never fails the login.
+     */
+    private void upgradePasswordHashIfNeeded(Voter user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPasswordHash())) {
+            return;
+        }
+        try {
+            String upgradedHash = passwordEncoder.encode(rawPassword);
+            voterRepository.updatePasswordHash(user.getId(), upgradedHash);
+            user.setPasswordHash(upgradedHash);
+            log.info("Upgraded password hash for user: {}", user.getEmail());
+        } catch (RuntimeException e) {
+            log.warn("Could not upgrade password hash for user: {}", user.getEmail(), e);
+        }
+    }
+
+    private BadRequestException rejectCredentials(String email, String clientIp) {
+        loginAttemptService.recordFailure(email, clientIp);
+        return new BadRequestException("Invalid email or password");
+    }
 }
@@ -1,15 +1,18 @@
 package com.sprints.onlineVotingSystem.service;
 
+import com.sprints.onlineVotingSystem.config.CacheConfig;
 import com.sprints.onlineVotingSystem.domain.Candidate;
 import com.sprints.onlineVotingSystem.dto.CandidateDTO;
+import com.sprints.onlineVotingSystem.dto.KeysetPageDTO;
+import com.sprints.onlineVotingSystem.exception.ResourceNotFoundException;
 import com.sprints.onlineVotingSystem.repository.CandidateRepository;
+import com.sprints.onlineVotingSystem.repository.ElectionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @Service
 @RequiredArgsConstructor
@@ -17,22 +20,19 @@ import java.util.stream.StreamSupport;
 public class CandidateService {
     
     private final CandidateRepository candidateRepository;
+    private final ElectionRepository electionRepository;
     
     /**
      * Retrieves all candidates as DTOs with their election information
+     * The DTOs are projected by the query itself, so no candidate or election entities are loaded
      * 
      * @return List of CandidateDTO containing candidate information
      */
     public List<CandidateDTO> getAllCandidates() {
-        log.info("Fetching all candidates");
+        log.debug("Fetching all candidates");
         try {
-            List<Candidate> candidates = StreamSupport.stream(candidateRepository.findAll().spliterator(), false)
-                    .collect(Collectors.toList());
-            List<CandidateDTO> candidateDTOs = candidates.stream()
-                    .map(this::mapToDTO)
-                    .collect(Collectors.toList());
-            
-            log.info("Successfully retrieved {} candidates", candidateDTOs.size());
+            List<CandidateDTO> candidateDTOs = candidateRepository.findAllCandidateDTOs();
+            log.debug("Successfully retrieved {} candidates", candidateDTOs.size());
             return candidateDTOs;
         } catch (Exception e) {
             log.error("Error fetching candidates: {}", e.getMessage(), e);
@@ -41,21 +41,31 @@ public class CandidateService {
     }
     
     /**
-     * Retrieves all candidates as entities
+     * Retrieves the candidates of one election as DTOs
      * 
-     * @return List of Candidate entities
+     * @param electionId The election ID
+     * @return List of CandidateDTO for the election, ordered by ID
+     * @throws ResourceNotFoundException if the election does not exist
      */
-    public List<Candidate> getAllCandidateEntities() {
-        log.info("Fetching all candidate entities");
-        try {
-            List<Candidate> candidates = StreamSupport.stream(candidateRepository.findAll().spliterator(), false)
-                    .collect(Collectors.toList());
-            log.info("Successfully retrieved {} candidate entities", candidates.size());
-            return candidates;
-        } catch (Exception e) {
-            log.error("Error fetching candidate entities: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to retrieve candidate entities", e);
+    public List<CandidateDTO> getCandidatesByElection(Long electionId) {
+        log.debug("Fetching candidates of election {}", electionId);
+        if (electionRepository.findById(electionId).isEmpty()) {
+            throw new ResourceNotFoundException("Election", "id", electionId);
         }
+        return candidateRepository.findCandidateDTOsByElectionId(electionId);
+    }
+    
+    /**
+     * Retrieves one page of candidate entities with their elections, ordered by ID
+     * 
+     * @param after The last candidate ID of the previous page, 0 for the first page
+     * @param limit The page size
+     * @return The page and the cursor for the next one
+     */
+    public KeysetPageDTO<Candidate> getCandidateEntities(long after, int limit) {
+        log.debug("Fetching candidate entities after ID {} (limit {})", after, limit);
+        List<Candidate> rows = candidateRepository.findAllWithElectionAfter(after, KeysetPaging.fetchLimit(after, limit));
+        return KeysetPaging.page(rows, limit, Candidate::getId);
     }
     
     /**
@@ -64,6 +74,7 @@ public class CandidateService {
      * @param candidate The candidate to create
      * @return The created candidate with generated ID
      */
+    @CacheEvict(cacheNames = CacheConfig.CANDIDATES, allEntries = true)
     public Candidate createCandidate(Candidate candidate) {
         log.info("Creating new candidate: {}", candidate.getName());
         
@@ -81,32 +92,4 @@ public class CandidateService {
         
         return savedCandidate;
     }
-    
-    /**
-     * Maps Candidate entity to CandidateDTO
-     * 
-     * @param candidate The candidate entity
-     * @return CandidateDTO with mapped data
-     */
-    private CandidateDTO mapToDTO(Candidate candidate) {
-        return new CandidateDTO(
-                candidate.getId(),
-                candidate.getName(),
-                getPartyFromCandidate(candidate), // You can extend this based on your domain model
-                candidate.getElection() != null ? candidate.getElection().getTitle() : "Unknown Election"
-        );
-    }
-    
-    /**
-     * Extracts party information from candidate
-     * This is a placeholder - you can extend the Candidate entity to include party field
-     * 
-     * @param candidate The candidate entity
-     * @return Party name or "Independent" as default
-     */
-    private String getPartyFromCandidate(Candidate candidate) {
-        // TODO: Extend Candidate entity to include party field
-        // For now, returning a default value
-        return "Independent";
-    }
 }
@@ -0,0 +1,126 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.sprints.onlineVotingSystem.domain.City;
+import com.sprints.onlineVotingSystem.dto.BulkCityAssignmentDTO;
+import com.sprints.onlineVotingSystem.dto.BulkCityAssignmentResultDTO;
+import com.sprints.onlineVotingSystem.exception.BadRequestException;
+import com.sprints.onlineVotingSystem.repository.VoterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Moves voters between cities in bulk.
+ * <p>
+ * Voters are updated with set-based {@code UPDATE ... WHERE id IN (...)} statements, one chunk
+ * per transaction, so a large redistricting never loads voter entities and never holds locks
+ * on the whole table. Chunks that already committed stay committed if a later chunk fails.
+ */
+@Service
+@Slf4j
+public class CityAssignmentService {
+
+    private final VoterRepository voterRepository;
+    private final CityDirectory cityDirectory;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public CityAssignmentService(VoterRepository voterRepository,
+                                 CityDirectory cityDirectory,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${voting.bulk-assign.chunk-size:1000}") int chunkSize) {
+        this(voterRepository, cityDirectory, new TransactionTemplate(transactionManager), chunkSize);
+    }
+
+    CityAssignmentService(VoterRepository voterRepository, CityDirectory cityDirectory,
+                          TransactionTemplate transactionTemplate, int chunkSize) {
+        this.voterRepository = voterRepository;
+        this.cityDirectory = cityDirectory;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Assigns the selected voters to the target city
+     *
+     * @param request Either the voter IDs to move or the source city to empty, plus the target city
+     * @return How many voters were selected and updated, and in how many chunks
+     * @throws BadRequestException if the request does not select voters in exactly one way
+     */
+    public BulkCityAssignmentResultDTO assignVoters(BulkCityAssignmentDTO request) {
+        String targetCity = request.getTargetCity() == null ? null : request.getTargetCity().trim();
+        if (targetCity == null || targetCity.isEmpty()) {
+            throw new BadRequestException("Target city cannot be null or empty");
+        }
+        boolean byIds = request.getVoterIds() != null && !request.getVoterIds().isEmpty();
+        boolean byCity = request.getSourceCity() != null && !request.getSourceCity().trim().isEmpty();
+        if (byIds == byCity) {
+            throw new BadRequestException("Provide either voterIds or sourceCity");
+        }
+        City target = cityDirectory.resolve(targetCity);
+        return byIds
+                ? assignByIds(request.getVoterIds(), target)
+                : assignBySourceCity(request.getSourceCity(), target);
+    }
+
+    private BulkCityAssignmentResultDTO assignByIds(List<Long> voterIds, City targetCity) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(voterIds));
+        ids.removeIf(Objects::isNull);
+        long updated = 0;
+        int chunks = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            updated += updateChunk(chunk, targetCity);
+            chunks++;
+            log.info("Bulk city assignment to {}: {}/{} voters processed", targetCity.getName(), from + chunk.size(), ids.size());
+        }
+        return new BulkCityAssignmentResultDTO(targetCity.getName(), ids.size(), updated, chunks);
+    }
+
+    private BulkCityAssignmentResultDTO assignBySourceCity(String sourceCityName, City targetCity) {
+        City sourceCity = cityDirectory.find(sourceCityName).orElse(null);
+        if (sourceCity == null) {
+            // No voter was ever assigned to the source city, so there is nothing to move
+            return new BulkCityAssignmentResultDTO(targetCity.getName(), 0, 0, 0);
+        }
+        if (sourceCity.getId().equals(targetCity.getId())) {
+            throw new BadRequestException("Source and target city must differ");
+        }
+        long requested = voterRepository.countByCityId(sourceCity.getId());
+        long updated = 0;
+        int chunks = 0;
+        long afterId = 0;
+        while (true) {
+            // Walk the source city by ID so each chunk is an index range scan, not an offset
+            List<Long> chunk = voterRepository.findIdsByCityIdAfter(sourceCity.getId(), afterId, Limit.of(chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            updated += updateChunk(chunk, targetCity);
+            chunks++;
+            afterId = chunk.get(chunk.size() - 1);
+            log.info("Bulk city assignment {} -> {}: {}/{} voters processed",
+                    sourceCity.getName(), targetCity.getName(), updated, requested);
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+        return new BulkCityAssignmentResultDTO(targetCity.getName(), requested, updated, chunks);
+    }
+
+    private int updateChunk(List<Long> ids, City targetCity) {
+        Integer rows = transactionTemplate.execute(
+                status -> voterRepository.updateCityForIds(ids, targetCity));
+        return rows == null ? 0 : rows;
+    }
+}
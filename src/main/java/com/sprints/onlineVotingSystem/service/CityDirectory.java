@@ -0,0 +1,93 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.sprints.onlineVotingSystem.domain.City;
+import com.sprints.onlineVotingSystem.exception.BadRequestException;
+import com.sprints.onlineVotingSystem.repository.CityRepository;
+import com.sprints.onlineVotingSystem.util.CityNames;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached dictionary from free-text city names to City rows.
+ * <p>
+ * Names are matched on {@link CityNames#lookupKey}, so spelling variants share one city ID.
+ * Cities are never renamed or deleted, which lets every resolved entry stay cached for the
+ * lifetime of the application; unknown names are not cached and hit the database each time.
+ */
+@Service
+@Slf4j
+public class CityDirectory {
+
+    private final CityRepository cityRepository;
+    private final TransactionTemplate newTransaction;
+    private final Locale locale;
+    private final Map<String, City> citiesByKey = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CityDirectory(CityRepository cityRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${voting.city.locale:en}") String locale) {
+        this.cityRepository = cityRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        // A new city must be committed even if the caller's transaction later rolls back
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.locale = Locale.forLanguageTag(locale);
+    }
+
+    /**
+     * Looks up an existing city
+     * @param name the city name in any spelling variant
+     * @return the city, or empty if no voter was ever assigned to it
+     */
+    public Optional<City> find(String name) {
+        String key = CityNames.lookupKey(name, locale);
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+        City cached = citiesByKey.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<City> city = cityRepository.findByNormalizedName(key);
+        city.ifPresent(c -> citiesByKey.put(key, c));
+        return city;
+    }
+
+    /**
+     * Looks up a city, creating it on first use
+     * @param name the city name in any spelling variant
+     * @return the city
+     * @throws BadRequestException if the name is blank
+     */
+    public City resolve(String name) {
+        String key = CityNames.lookupKey(name, locale);
+        if (key.isEmpty()) {
+            throw new BadRequestException("City name cannot be null or empty");
+        }
+        return find(name).orElseGet(() -> create(CityNames.displayName(name), key));
+    }
+
+    private City create(String displayName, String key) {
+        City city;
+        try {
+            city = newTransaction.execute(status -> cityRepository.save(new City(null, displayName, key)));
+            log.info("Added city {} ({})", displayName, key);
+        } catch (DataIntegrityViolationException e) {
+            // Another request created the same city concurrently
+            city = cityRepository.findByNormalizedName(key).orElseThrow(() -> e);
+        }
+        citiesByKey.put(key, city);
+        return city;
+    }
+}
@@ -2,11 +2,16 @@ package com.sprints.onlineVotingSystem.service;
 
 import com.sprints.onlineVotingSystem.dto.CandidateResultDTO;
 import com.sprints.onlineVotingSystem.repository.VoteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -14,21 +19,53 @@ import java.util.List;
 public class ElectionResultService {
     
     private final VoteRepository voteRepository;
+    private final VoteTallyService voteTallyService;
+    private final MeterRegistry meterRegistry;
     
     /**
-     * Retrieves election results with vote counts per candidate, sorted by vote count in descending order
+     * Retrieves election results with vote counts per candidate, sorted by vote count in descending order.
+     * Reads the in-memory tally once it is loaded and falls back to counting the vote table before that.
      * 
      * @return List of CandidateResultDTO containing candidate names and their vote counts
      */
     public List<CandidateResultDTO> getElectionResults() {
-        log.info("Fetching election results");
+        log.debug("Fetching election results");
         try {
-            List<CandidateResultDTO> results = voteRepository.getCandidateVoteCounts();
-            log.info("Successfully retrieved {} candidate results", results.size());
+            boolean fromTally = voteTallyService.isReady();
+            List<CandidateResultDTO> results = resultsTimer(fromTally ? "tally" : "database").record(() -> fromTally
+                    ? voteTallyService.getResults()
+                    : voteRepository.getCandidateVoteCounts());
+            log.debug("Successfully retrieved {} candidate results", results.size());
             return results;
         } catch (Exception e) {
             log.error("Error fetching election results: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to retrieve election results", e);
         }
     }
+    
+    /**
+     * Streams the results of a single election to the given consumer, one candidate at a time,
+     * sorted by vote count in descending order
+     * 
+     * @param electionId The election ID
+     * @param consumer Receives each CandidateResultDTO as it is read from the database
+     */
+    @Transactional(readOnly = true)
+    public void streamElectionResults(Long electionId, Consumer<CandidateResultDTO> consumer) {
+        log.debug("Streaming results for election {}", electionId);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (Stream<CandidateResultDTO> results = voteRepository.streamCandidateVoteCountsByElection(electionId)) {
+            results.forEach(consumer);
+        } finally {
+            // includes the time the consumer spends writing to the client
+            sample.stop(resultsTimer("stream"));
+        }
+    }
+    
+    private Timer resultsTimer(String source) {
+        return Timer.builder("election.results")
+                .description("Time to read election results, by where they were read from")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
 }
@@ -1,10 +1,13 @@
 package com.sprints.onlineVotingSystem.service;
 
+import com.sprints.onlineVotingSystem.config.CacheConfig;
 import com.sprints.onlineVotingSystem.domain.Election;
+import com.sprints.onlineVotingSystem.dto.KeysetPageDTO;
 import com.sprints.onlineVotingSystem.exception.ResourceNotFoundException;
 import com.sprints.onlineVotingSystem.repository.ElectionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,6 +18,7 @@ import java.util.List;
 public class ElectionService {
     
     private final ElectionRepository electionRepository;
+    private final VotingWindowEvaluator votingWindowEvaluator;
     
     /**
      * Creates a new election
@@ -22,6 +26,7 @@ public class ElectionService {
      * @param election The election to create
      * @return The created election with generated ID
      */
+    @CacheEvict(cacheNames = CacheConfig.ELECTIONS, allEntries = true)
     public Election createElection(Election election) {
         log.info("Creating new election: {}", election.getTitle());
         
@@ -41,13 +46,16 @@ public class ElectionService {
     }
     
     /**
-     * Retrieves all elections
+     * Retrieves one page of elections, ordered by ID
      * 
-     * @return List of all elections
+     * @param after The last election ID of the previous page, 0 for the first page
+     * @param limit The page size
+     * @return The page and the cursor for the next one
      */
-    public List<Election> getAllElections() {
-        log.info("Retrieving all elections");
-        return electionRepository.findAll();
+    public KeysetPageDTO<Election> getElections(long after, int limit) {
+        log.debug("Retrieving elections after ID {} (limit {})", after, limit);
+        List<Election> rows = electionRepository.findByIdGreaterThanOrderByIdAsc(after, KeysetPaging.fetchLimit(after, limit));
+        return KeysetPaging.page(rows, limit, Election::getId);
     }
     
     /**
@@ -58,7 +66,7 @@ public class ElectionService {
      * @throws ResourceNotFoundException if election not found
      */
     public Election getElectionById(Long id) {
-        log.info("Retrieving election with ID: {}", id);
+        log.debug("Retrieving election with ID: {}", id);
         return electionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Election not found with ID: " + id));
     }
@@ -71,8 +79,6 @@ public class ElectionService {
      */
     public boolean isElectionActive(Long electionId) {
         Election election = getElectionById(electionId);
-        java.time.LocalDate today = java.time.LocalDate.now();
-        
-        return !today.isBefore(election.getStartDate()) && !today.isAfter(election.getEndDate());
+        return votingWindowEvaluator.isOpen(election);
     }
 }
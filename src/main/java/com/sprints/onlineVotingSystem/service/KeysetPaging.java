@@ -0,0 +1,49 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.sprints.onlineVotingSystem.dto.KeysetPageDTO;
+import com.sprints.onlineVotingSystem.exception.BadRequestException;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers for keyset (seek) pagination ordered by ID.
+ * <p>
+ * A page is requested as "rows with id greater than {@code after}", so every page is an index
+ * range scan of {@code limit} rows no matter how deep the client has scrolled. One extra row is
+ * fetched to tell whether another page follows.
+ */
+final class KeysetPaging {
+
+    static final int MAX_LIMIT = 1000;
+
+    private KeysetPaging() {
+    }
+
+    /**
+     * Returns the limit to pass to the repository: the page size plus one look-ahead row
+     *
+     * @throws BadRequestException if the page size is outside 1..MAX_LIMIT or after is negative
+     */
+    static Limit fetchLimit(long after, int limit) {
+        if (after < 0) {
+            throw new BadRequestException("after must not be negative");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return Limit.of(limit + 1);
+    }
+
+    /**
+     * Builds a page from rows fetched with {@link #fetchLimit(long, int)}
+     */
+    static <T> KeysetPageDTO<T> page(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPageDTO<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPageDTO<>(List.copyOf(items), idOf.apply(items.get(limit - 1)));
+    }
+}
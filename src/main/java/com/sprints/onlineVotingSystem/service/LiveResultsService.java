@@ -0,0 +1,307 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.sprints.onlineVotingSystem.dto.CandidateVoteCountDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes live election results to Server-Sent Events subscribers.
+ * <p>
+ * Every {@code voting.results-stream.interval-ms} the in-memory tally of each election that has
+ * subscribers is compared once with what was last published, and only the changed candidates are
+ * sent, however many clients are connected. Each event carries absolute vote counts, so updates a
+ * slow client has not received yet are merged into one pending event instead of queuing up.
+ * <p>
+ * A send that blocks longer than {@code voting.results-stream.send-timeout-ms} is abandoned: the
+ * client is unsubscribed and the send pool gets one extra thread until the stuck write returns,
+ * so stalled sockets cannot take every send thread from the other subscribers.
+ */
+@Service
+@Slf4j
+public class LiveResultsService {
+
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String DELTA_EVENT = "delta";
+
+    private final VoteTallyService voteTallyService;
+    private final ExecutorService sendExecutor;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final Map<Long, ElectionFeed> feeds = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LiveResultsService(VoteTallyService voteTallyService,
+                              @Value("${voting.results-stream.send-threads:4}") int sendThreads,
+                              @Value("${voting.results-stream.timeout-ms:1800000}") long timeoutMillis,
+                              @Value("${voting.results-stream.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this(voteTallyService, newSendExecutor(sendThreads), timeoutMillis, sendTimeoutMillis);
+    }
+
+    LiveResultsService(VoteTallyService voteTallyService, ExecutorService sendExecutor, long timeoutMillis,
+                       long sendTimeoutMillis) {
+        this.voteTallyService = voteTallyService;
+        this.sendExecutor = sendExecutor;
+        this.timeoutMillis = timeoutMillis;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+    }
+
+    /**
+     * Subscribes to the results of one election. The first event is a snapshot of the candidates
+     * that have votes, later events contain the candidates whose counts changed, including a
+     * candidate's first vote.
+     *
+     * @param electionId The election ID, expected to exist
+     * @return The emitter the results are pushed through
+     */
+    public SseEmitter subscribe(Long electionId) {
+        return subscribe(electionId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(Long electionId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(electionId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        feeds.compute(electionId, (id, feed) -> {
+            ElectionFeed target = feed == null ? new ElectionFeed() : feed;
+            target.subscribers.add(subscriber);
+            return target;
+        });
+        if (voteTallyService.isReady()) {
+            subscriber.offer(voteTallyService.getElectionCounts(electionId), true);
+        }
+        log.info("Results stream opened for election {}", electionId);
+        return emitter;
+    }
+
+    /**
+     * Abandons stalled sends, then publishes the changes since the last run to the subscribers of every election
+     */
+    @Scheduled(fixedDelayString = "${voting.results-stream.interval-ms:1000}")
+    public void publishChanges() {
+        long now = System.nanoTime();
+        feeds.values().forEach(feed -> feed.subscribers.forEach(subscriber -> subscriber.abandonIfStalled(now)));
+        if (!voteTallyService.isReady()) {
+            return;
+        }
+        feeds.forEach((electionId, feed) -> {
+            List<CandidateVoteCountDTO> changed = feed.changesSinceLastRun(voteTallyService.getElectionCounts(electionId));
+            if (changed.isEmpty()) {
+                return;
+            }
+            for (Subscriber subscriber : feed.subscribers) {
+                subscriber.offer(changed, false);
+            }
+        });
+    }
+
+    /**
+     * @return how many clients are subscribed to the election
+     */
+    public int subscriberCount(Long electionId) {
+        ElectionFeed feed = feeds.get(electionId);
+        return feed == null ? 0 : feed.subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+        feeds.values().forEach(feed -> feed.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        feeds.clear();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        feeds.computeIfPresent(subscriber.electionId, (id, feed) -> {
+            feed.subscribers.remove(subscriber);
+            return feed.subscribers.isEmpty() ? null : feed;
+        });
+    }
+
+    /**
+     * Adds or removes a send thread for each abandoned send that is still blocked in its write
+     */
+    private synchronized void resizeSendPool(int delta) {
+        if (sendExecutor instanceof ThreadPoolExecutor pool) {
+            int size = pool.getCorePoolSize() + delta;
+            if (delta > 0) {
+                pool.setMaximumPoolSize(size);
+                pool.setCorePoolSize(size);
+            } else {
+                pool.setCorePoolSize(size);
+                pool.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private static ExecutorService newSendExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "results-stream-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * The subscribers of one election and the counts they were last sent
+     */
+    private static final class ElectionFeed {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final Map<Long, Long> published = new HashMap<>();
+
+        // Only called from the scheduler thread
+        private List<CandidateVoteCountDTO> changesSinceLastRun(List<CandidateVoteCountDTO> counts) {
+            List<CandidateVoteCountDTO> changed = new ArrayList<>();
+            for (CandidateVoteCountDTO count : counts) {
+                Long previous = published.put(count.getCandidateId(), count.getTotalVotes());
+                if (!count.getTotalVotes().equals(previous)) {
+                    changed.add(count);
+                }
+            }
+            return changed;
+        }
+    }
+
+    /**
+     * One connected client. At most one send is in flight per client; anything published
+     * meanwhile is merged into the pending event by candidate.
+     */
+    private final class Subscriber {
+        private final Long electionId;
+        private final SseEmitter emitter;
+        private final Map<Long, CandidateVoteCountDTO> pending = new LinkedHashMap<>();
+        private boolean pendingSnapshot;
+        private boolean sending;
+        private boolean stalled;
+        private volatile boolean closed;
+        // System.nanoTime() when the send in flight started, 0 when none is
+        private volatile long sendStartedNanos;
+
+        private Subscriber(Long electionId, SseEmitter emitter) {
+            this.electionId = electionId;
+            this.emitter = emitter;
+        }
+
+        private void offer(List<CandidateVoteCountDTO> counts, boolean snapshot) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                counts.forEach(count -> pending.put(count.getCandidateId(), count));
+                pendingSnapshot |= snapshot;
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+            try {
+                sendExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                close(e);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                List<CandidateVoteCountDTO> counts;
+                String eventName;
+                synchronized (this) {
+                    if (closed || (pending.isEmpty() && !pendingSnapshot)) {
+                        sending = false;
+                        return;
+                    }
+                    counts = new ArrayList<>(pending.values());
+                    eventName = pendingSnapshot ? SNAPSHOT_EVENT : DELTA_EVENT;
+                    pending.clear();
+                    pendingSnapshot = false;
+                }
+                try {
+                    sendStartedNanos = System.nanoTime();
+                    emitter.send(SseEmitter.event().name(eventName).data(counts));
+                } catch (IOException | IllegalStateException e) {
+                    finishStalledSend();
+                    close(e);
+                    return;
+                } finally {
+                    sendStartedNanos = 0;
+                }
+                if (finishStalledSend()) {
+                    emitter.completeWithError(new TimeoutException("Results stream send timed out"));
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Called by the scheduler: unsubscribes a client whose send has been blocked too long and
+         * lends the pool a thread. The emitter is completed by the sending thread once the write returns,
+         * because completing it here would wait for the same write.
+         */
+        private void abandonIfStalled(long now) {
+            long started = sendStartedNanos;
+            if (started == 0 || now - started < sendTimeoutNanos) {
+                return;
+            }
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                stalled = true;
+                pending.clear();
+            }
+            log.warn("Results stream send for election {} blocked for over {} ms, dropping the subscriber",
+                    electionId, TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+            unsubscribe(this);
+            resizeSendPool(1);
+        }
+
+        /**
+         * @return true if this send had been abandoned, in which case its borrowed thread is returned
+         */
+        private boolean finishStalledSend() {
+            synchronized (this) {
+                if (!stalled) {
+                    return false;
+                }
+                stalled = false;
+                sending = false;
+            }
+            resizeSendPool(-1);
+            return true;
+        }
+
+        private void close(Exception cause) {
+            synchronized (this) {
+                closed = true;
+                sending = false;
+                pending.clear();
+            }
+            log.debug("Results stream for election {} closed: {}", electionId, cause.getMessage());
+            unsubscribe(this);
+            emitter.completeWithError(cause);
+        }
+    }
+}
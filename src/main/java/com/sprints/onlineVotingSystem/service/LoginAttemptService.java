@@ -0,0 +1,177 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.sprints.onlineVotingSystem.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Locale;
+
+/**
+ * Tracks failed logins per email and per client IP in a sliding time window.
+ * Once a key reaches its threshold further attempts are rejected before any
+ * database lookup or password hashing takes place.
+ */
+@Service
+@Slf4j
+public class LoginAttemptService {
+
+    private static final String EMAIL_PREFIX = "email:";
+    private static final String IP_PREFIX = "ip:";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Cache<String, FailureWindow> failures;
+    private final Ticker ticker;
+    private final int maxFailuresPerEmail;
+    private final int maxFailuresPerIp;
+    private final long windowNanos;
+    private final boolean enabled;
+
+    private final Counter emailRejections;
+    private final Counter ipRejections;
+    private final Counter recordedFailures;
+
+    @Autowired
+    public LoginAttemptService(MeterRegistry meterRegistry,
+                               @Value("${security.login-throttle.enabled:true}") boolean enabled,
+                               @Value("${security.login-throttle.max-failures-per-email:5}") int maxFailuresPerEmail,
+                               @Value("${security.login-throttle.max-failures-per-ip:50}") int maxFailuresPerIp,
+                               @Value("${security.login-throttle.window-seconds:300}") long windowSeconds,
+                               @Value("${security.login-throttle.max-tracked-keys:100000}") long maxTrackedKeys) {
+        this(meterRegistry, enabled, maxFailuresPerEmail, maxFailuresPerIp, windowSeconds, maxTrackedKeys,
+                Ticker.systemTicker());
+    }
+
+    LoginAttemptService(MeterRegistry meterRegistry, boolean enabled, int maxFailuresPerEmail, int maxFailuresPerIp,
+                        long windowSeconds, long maxTrackedKeys, Ticker ticker) {
+        this.enabled = enabled;
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.windowNanos = Duration.ofSeconds(windowSeconds).toNanos();
+        this.ticker = ticker;
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofSeconds(windowSeconds))
+                .ticker(ticker)
+                .build();
+
+        this.emailRejections = Counter.builder("auth.login.throttle.rejected")
+                .description("Login attempts rejected by the failed-attempt throttle")
+                .tag("key", "email")
+                .register(meterRegistry);
+        this.ipRejections = Counter.builder("auth.login.throttle.rejected")
+                .description("Login attempts rejected by the failed-attempt throttle")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        this.recordedFailures = Counter.builder("auth.login.failures")
+                .description("Failed login attempts recorded by the throttle")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.tracked", failures, Cache::estimatedSize)
+                .description("Emails and IPs currently tracked by the failed-attempt throttle")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rejects the attempt if the email or client IP has too many recent failures
+     *
+     * @param email The login email
+     * @param clientIp The client address, may be null
+     * @throws TooManyRequestsException if either key is over its threshold
+     */
+    public void checkAllowed(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long now = ticker.read();
+        long emailWait = waitNanos(emailKey(email), maxFailuresPerEmail, now);
+        if (emailWait > 0) {
+            emailRejections.increment();
+            throw rejection(emailWait);
+        }
+        if (clientIp != null) {
+            long ipWait = waitNanos(IP_PREFIX + clientIp, maxFailuresPerIp, now);
+            if (ipWait > 0) {
+                ipRejections.increment();
+                throw rejection(ipWait);
+            }
+        }
+    }
+
+    /**
+     * Records a failed login for the email and client IP
+     */
+    public void recordFailure(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long now = ticker.read();
+        recordedFailures.increment();
+        failures.get(emailKey(email), key -> new FailureWindow()).add(now, windowNanos, maxFailuresPerEmail);
+        if (clientIp != null) {
+            failures.get(IP_PREFIX + clientIp, key -> new FailureWindow()).add(now, windowNanos, maxFailuresPerIp);
+        }
+    }
+
+    /**
+     * Clears the failure history of an email after a successful login
+     */
+    public void recordSuccess(String email) {
+        if (enabled) {
+            failures.invalidate(emailKey(email));
+        }
+    }
+
+    private long waitNanos(String key, int maxFailures, long now) {
+        FailureWindow window = failures.getIfPresent(key);
+        return window == null ? 0 : window.waitNanos(now, windowNanos, maxFailures);
+    }
+
+    private TooManyRequestsException rejection(long waitNanos) {
+        long retryAfterSeconds = Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        log.debug("Login throttled, retry after {} seconds", retryAfterSeconds);
+        return new TooManyRequestsException("Too many failed login attempts, please try again later", retryAfterSeconds);
+    }
+
+    private static String emailKey(String email) {
+        return EMAIL_PREFIX + email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Timestamps of the most recent failures for one key, oldest first
+     */
+    private static final class FailureWindow {
+
+        private final ArrayDeque<Long> timestamps = new ArrayDeque<>();
+
+        synchronized void add(long now, long windowNanos, int maxFailures) {
+            evict(now, windowNanos);
+            timestamps.addLast(now);
+            while (timestamps.size() > maxFailures) {
+                timestamps.removeFirst();
+            }
+        }
+
+        synchronized long waitNanos(long now, long windowNanos, int maxFailures) {
+            evict(now, windowNanos);
+            if (timestamps.size() < maxFailures) {
+                return 0;
+            }
+            return timestamps.peekFirst() + windowNanos - now;
+        }
+
+        private void evict(long now, long windowNanos) {
+            while (!timestamps.isEmpty() && now - timestamps.peekFirst() >= windowNanos) {
+                timestamps.removeFirst();
+            }
+        }
+    }
+}
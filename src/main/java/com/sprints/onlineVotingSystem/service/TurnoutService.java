@@ -0,0 +1,177 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.sprints.onlineVotingSystem.domain.City;
+import com.sprints.onlineVotingSystem.dto.CityTurnoutDTO;
+import com.sprints.onlineVotingSystem.dto.CityVoteCountDTO;
+import com.sprints.onlineVotingSystem.dto.CityVoterCountDTO;
+import com.sprints.onlineVotingSystem.dto.ElectionTurnoutDTO;
+import com.sprints.onlineVotingSystem.event.VoteCastEvent;
+import com.sprints.onlineVotingSystem.repository.CityRepository;
+import com.sprints.onlineVotingSystem.repository.VoteRepository;
+import com.sprints.onlineVotingSystem.repository.VoterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps per-(election, city) vote counters and per-city eligible voter counts in memory,
+ * so turnout is read in O(cities) without joining the vote and users tables.
+ * <p>
+ * Vote counters are incremented after every committed vote. Eligible counts and any drift in
+ * the vote counters (votes missed during a rebuild, voters moved to another city, deleted
+ * voters) are corrected by {@link #reconcile()}, which runs on startup and then periodically.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TurnoutService {
+
+    private static final Comparator<CityTurnoutDTO> BY_CITY_NAME =
+            Comparator.comparing(CityTurnoutDTO::getCity, Comparator.nullsLast(String::compareToIgnoreCase));
+
+    private final VoteRepository voteRepository;
+    private final VoterRepository voterRepository;
+    private final CityRepository cityRepository;
+    private final Clock clock;
+
+    // election ID -> city ID -> votes
+    private volatile Map<Long, Map<Integer, LongAdder>> votes = new ConcurrentHashMap<>();
+    private volatile Map<Integer, Long> eligible = Map.of();
+    private final Map<Integer, String> cityNames = new ConcurrentHashMap<>();
+    private volatile LocalDateTime reconciledAt;
+
+    /**
+     * Recounts votes per election and city and eligible voters per city from the source tables
+     * and replaces the counters. Votes committed while the recount runs may be missed until the next run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${voting.turnout.reconcile-interval:PT5M}",
+               initialDelayString = "${voting.turnout.reconcile-interval:PT5M}")
+    public void reconcile() {
+        long started = System.nanoTime();
+        for (City city : cityRepository.findAll()) {
+            cityNames.put(city.getId(), city.getName());
+        }
+
+        Map<Long, Map<Integer, LongAdder>> recounted = new ConcurrentHashMap<>();
+        for (CityVoteCountDTO count : voteRepository.getVoteCountsPerElectionAndCity()) {
+            counter(recounted, count.getElectionId(), count.getCityId()).add(count.getTotalVotes());
+        }
+        Map<Integer, Long> recountedEligible = new ConcurrentHashMap<>();
+        for (CityVoterCountDTO count : voterRepository.countEligibleVotersPerCity()) {
+            recountedEligible.put(count.getCityId(), count.getTotalVoters());
+        }
+
+        long drift = drift(votes, recounted);
+        boolean firstRun = reconciledAt == null;
+        votes = recounted;
+        eligible = recountedEligible;
+        reconciledAt = LocalDateTime.now(clock);
+        if (drift > 0 && !firstRun) {
+            log.warn("Turnout reconciliation corrected a drift of {} votes", drift);
+        }
+        log.info("Turnout reconciled for {} elections and {} cities in {} ms",
+                recounted.size(), recountedEligible.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Counts a vote for the voter's city once its transaction has committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVoteCast(VoteCastEvent event) {
+        Integer cityId = event.getVoterCityId();
+        if (cityId == null) {
+            return; // picked up by the next reconciliation if the voter gets a city
+        }
+        counter(votes, event.getElectionId(), cityId).increment();
+    }
+
+    /**
+     * Returns the turnout of one election per city, sorted by city name
+     *
+     * @param electionId The election ID, expected to exist
+     * @return Votes and eligible voters per city and in total
+     */
+    public ElectionTurnoutDTO getTurnout(Long electionId) {
+        Map<Integer, LongAdder> electionVotes = votes.getOrDefault(electionId, Map.of());
+        Map<Integer, Long> eligibleSnapshot = eligible;
+
+        Set<Integer> cityIds = new HashSet<>(eligibleSnapshot.keySet());
+        cityIds.addAll(electionVotes.keySet());
+        List<CityTurnoutDTO> cities = new ArrayList<>(cityIds.size());
+        long totalVoted = 0;
+        long totalEligible = 0;
+        for (Integer cityId : cityIds) {
+            LongAdder counter = electionVotes.get(cityId);
+            long voted = counter == null ? 0 : counter.sum();
+            long cityEligible = eligibleSnapshot.getOrDefault(cityId, 0L);
+            cities.add(new CityTurnoutDTO(cityId, cityName(cityId), voted, cityEligible, percent(voted, cityEligible)));
+            totalVoted += voted;
+            totalEligible += cityEligible;
+        }
+        cities.sort(BY_CITY_NAME);
+        return new ElectionTurnoutDTO(electionId, totalVoted, totalEligible, reconciledAt, cities);
+    }
+
+    private String cityName(Integer cityId) {
+        String name = cityNames.get(cityId);
+        if (name != null) {
+            return name;
+        }
+        // a city created since the last reconciliation
+        return cityRepository.findById(cityId)
+                .map(city -> {
+                    cityNames.put(cityId, city.getName());
+                    return city.getName();
+                })
+                .orElse(null);
+    }
+
+    private static LongAdder counter(Map<Long, Map<Integer, LongAdder>> counters, Long electionId, Integer cityId) {
+        return counters.computeIfAbsent(electionId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(cityId, id -> new LongAdder());
+    }
+
+    private static long drift(Map<Long, Map<Integer, LongAdder>> before, Map<Long, Map<Integer, LongAdder>> after) {
+        Set<Long> electionIds = new HashSet<>(before.keySet());
+        electionIds.addAll(after.keySet());
+        long drift = 0;
+        for (Long electionId : electionIds) {
+            Map<Integer, LongAdder> old = before.getOrDefault(electionId, Map.of());
+            Map<Integer, LongAdder> recounted = after.getOrDefault(electionId, Map.of());
+            Set<Integer> cityIds = new HashSet<>(old.keySet());
+            cityIds.addAll(recounted.keySet());
+            for (Integer cityId : cityIds) {
+                drift += Math.abs(sum(recounted.get(cityId)) - sum(old.get(cityId)));
+            }
+        }
+        return drift;
+    }
+
+    private static long sum(LongAdder adder) {
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private static Double percent(long voted, long eligible) {
+        if (eligible == 0) {
+            return null;
+        }
+        return Math.round(voted * 10000.0 / eligible) / 100.0;
+    }
+}
@@ -0,0 +1,161 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.sprints.onlineVotingSystem.domain.Candidate;
+import com.sprints.onlineVotingSystem.dto.CandidateResultDTO;
+import com.sprints.onlineVotingSystem.dto.CandidateVoteCountDTO;
+import com.sprints.onlineVotingSystem.event.VoteCastEvent;
+import com.sprints.onlineVotingSystem.repository.CandidateRepository;
+import com.sprints.onlineVotingSystem.repository.VoteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a running vote count per candidate so results can be read without
+ * grouping the whole vote table. The counts are rebuilt from the database
+ * on startup and then periodically, and incremented after every committed vote.
+ * <p>
+ * Candidate names are read through the {@code candidates} cache when results are built, so
+ * {@link CandidateRepository#updateCandidateName} and {@link CandidateRepository#deleteByElectionId},
+ * which evict that cache, are reflected without a rebuild; counters of deleted candidates are dropped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VoteTallyService {
+    
+    private static final Comparator<CandidateResultDTO> BY_VOTES_DESC =
+            Comparator.comparing(CandidateResultDTO::getTotalVotes).reversed();
+    
+    private final VoteRepository voteRepository;
+    private final CandidateRepository candidateRepository;
+    
+    private volatile Map<Long, CandidateTally> tallies = new ConcurrentHashMap<>();
+    // counters being rebuilt; votes are counted into them from before the recount query runs
+    private volatile Map<Long, CandidateTally> rebuilding;
+    private volatile boolean ready;
+    
+    /**
+     * Rebuilds all counters from the vote table and replaces the current ones.
+     * Votes committed while the recount runs are counted into the new counters as well, so none are lost;
+     * a vote whose commit races the start of the recount can be counted twice until the next run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${voting.results.reconcile-interval:PT5M}",
+               initialDelayString = "${voting.results.reconcile-interval:PT5M}")
+    public synchronized void rebuild() {
+        log.info("Rebuilding vote tallies from the database");
+        Map<Long, CandidateTally> rebuilt = new ConcurrentHashMap<>();
+        rebuilding = rebuilt;
+        for (CandidateVoteCountDTO count : voteRepository.getVoteCountsPerCandidate()) {
+            tally(rebuilt, count.getCandidateId(), count.getElectionId()).votes.add(count.getTotalVotes());
+        }
+        long drift = ready ? drift(tallies, rebuilt) : 0;
+        tallies = rebuilt;
+        rebuilding = null;
+        ready = true;
+        if (drift > 0) {
+            log.warn("Vote tally reconciliation corrected a drift of {} votes", drift);
+        }
+        log.info("Vote tallies rebuilt for {} candidates", rebuilt.size());
+    }
+    
+    /**
+     * Counts a vote once its transaction has committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVoteCast(VoteCastEvent event) {
+        Map<Long, CandidateTally> next = rebuilding;
+        Map<Long, CandidateTally> current = tallies;
+        tally(current, event.getCandidateId(), event.getElectionId()).votes.increment();
+        if (next != null && next != current) {
+            tally(next, event.getCandidateId(), event.getElectionId()).votes.increment();
+        }
+    }
+    
+    /**
+     * @return true once the counters have been loaded from the database
+     */
+    public boolean isReady() {
+        return ready;
+    }
+    
+    /**
+     * Returns the vote count of every candidate that received votes, sorted by vote count in descending order
+     */
+    public List<CandidateResultDTO> getResults() {
+        return tallies.values().stream()
+                .filter(tally -> tally.votes.sum() > 0)
+                .map(this::toCount)
+                .flatMap(Optional::stream)
+                .map(count -> new CandidateResultDTO(count.getCandidateName(), count.getTotalVotes()))
+                .sorted(BY_VOTES_DESC)
+                .toList();
+    }
+    
+    /**
+     * Returns the current vote count of every candidate of one election that received votes
+     */
+    public List<CandidateVoteCountDTO> getElectionCounts(Long electionId) {
+        return tallies.values().stream()
+                .filter(tally -> electionId.equals(tally.electionId))
+                .map(this::toCount)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+    
+    /**
+     * Reads the current candidate name from the cache; a candidate that no longer exists loses its counter
+     */
+    private Optional<CandidateVoteCountDTO> toCount(CandidateTally tally) {
+        Optional<Candidate> candidate = candidateRepository.findById(tally.candidateId);
+        if (candidate.isEmpty()) {
+            tallies.remove(tally.candidateId, tally);
+            return Optional.empty();
+        }
+        return Optional.of(new CandidateVoteCountDTO(tally.candidateId, tally.electionId,
+                candidate.get().getName(), tally.votes.sum()));
+    }
+    
+    private static CandidateTally tally(Map<Long, CandidateTally> tallies, Long candidateId, Long electionId) {
+        CandidateTally tally = tallies.get(candidateId);
+        return tally != null ? tally : tallies.computeIfAbsent(candidateId, id -> new CandidateTally(id, electionId));
+    }
+    
+    private static long drift(Map<Long, CandidateTally> before, Map<Long, CandidateTally> after) {
+        long drift = 0;
+        for (CandidateTally tally : after.values()) {
+            CandidateTally old = before.get(tally.candidateId);
+            drift += Math.abs(tally.votes.sum() - (old == null ? 0 : old.votes.sum()));
+        }
+        for (CandidateTally old : before.values()) {
+            if (!after.containsKey(old.candidateId)) {
+                drift += old.votes.sum();
+            }
+        }
+        return drift;
+    }
+    
+    private static final class CandidateTally {
+        private final Long candidateId;
+        private final Long electionId;
+        private final LongAdder votes = new LongAdder();
+        
+        private CandidateTally(Long candidateId, Long electionId) {
+            this.candidateId = candidateId;
+            this.electionId = electionId;
+        }
+    }
+}
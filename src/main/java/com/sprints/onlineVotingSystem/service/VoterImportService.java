@@ -0,0 +1,360 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sprints.onlineVotingSystem.domain.Role;
+import com.sprints.onlineVotingSystem.domain.Voter;
+import com.sprints.onlineVotingSystem.dto.ImportRowErrorDTO;
+import com.sprints.onlineVotingSystem.dto.VoterImportReportDTO;
+import com.sprints.onlineVotingSystem.dto.VoterRegistrationDTO;
+import com.sprints.onlineVotingSystem.exception.BadRequestException;
+import com.sprints.onlineVotingSystem.repository.VoterRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Imports voters from a CSV or NDJSON stream.
+ * <p>
+ * Rows are read one line at a time and processed in chunks: each chunk is validated, checked
+ * for existing emails with a single query, hashed in parallel on a dedicated pool and inserted
+ * with saveAll in its own transaction, so inserts go out as JDBC batches. Rows that fail are
+ * collected into the report instead of aborting the import.
+ */
+@Service
+@Slf4j
+public class VoterImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final List<String> CSV_COLUMNS = List.of("name", "email", "password", "city");
+
+    private final VoterRepository voterRepository;
+    private final CityDirectory cityDirectory;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder hashEncoder;
+    private final ExecutorService hashExecutor;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    @Autowired
+    public VoterImportService(VoterRepository voterRepository,
+                              CityDirectory cityDirectory,
+                              Validator validator,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${security.bcrypt.strength:10}") int strength,
+                              @Value("${voting.import.hash-threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int hashThreads,
+                              @Value("${voting.import.chunk-size:1000}") int chunkSize,
+                              @Value("${voting.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this(voterRepository, cityDirectory, validator, objectMapper, new TransactionTemplate(transactionManager),
+                new BCryptPasswordEncoder(strength), hashThreads, chunkSize, maxReportedErrors);
+    }
+
+    VoterImportService(VoterRepository voterRepository,
+                       CityDirectory cityDirectory,
+                       Validator validator,
+                       ObjectMapper objectMapper,
+                       TransactionTemplate transactionTemplate,
+                       PasswordEncoder hashEncoder,
+                       int hashThreads,
+                       int chunkSize,
+                       int maxReportedErrors) {
+        this.voterRepository = voterRepository;
+        this.cityDirectory = cityDirectory;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.hashEncoder = hashEncoder;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        AtomicInteger counter = new AtomicInteger();
+        this.hashExecutor = Executors.newFixedThreadPool(hashThreads, runnable -> {
+            Thread thread = new Thread(runnable, "voter-import-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    /**
+     * Resolves the import format from a request content type
+     *
+     * @throws BadRequestException if the content type is not CSV or NDJSON
+     */
+    public static Format formatOf(String contentType) {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("text/csv")) {
+            return Format.CSV;
+        }
+        if (type.startsWith("application/x-ndjson")) {
+            return Format.NDJSON;
+        }
+        throw new BadRequestException("Unsupported import content type, use text/csv or application/x-ndjson");
+    }
+
+    /**
+     * Imports voters from the stream. CSV input needs a header row naming the name, email,
+     * password and city columns; NDJSON input has one registration object per line.
+     *
+     * @param input The import data, read line by line and never held in memory as a whole
+     * @param format The input format
+     * @return A report with counts and the rows that could not be imported
+     */
+    public VoterImportReportDTO importVoters(InputStream input, Format format) throws IOException {
+        ImportReport report = new ImportReport(maxReportedErrors);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = format == Format.CSV ? readCsvHeader(reader) : null;
+        long lineNumber = format == Format.CSV ? 1 : 0;
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            report.totalRows++;
+            ImportRow row = parse(line, lineNumber, format, columns, report);
+            if (row != null) {
+                chunk.add(row);
+            }
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+
+        log.info("Voter import finished: {} rows, {} imported, {} failed", report.totalRows, report.imported, report.failed);
+        return report.toDTO();
+    }
+
+    private ImportRow parse(String line, long lineNumber, Format format, Map<String, Integer> columns, ImportReport report) {
+        VoterRegistrationDTO dto;
+        try {
+            dto = format == Format.CSV ? fromCsv(line, columns) : objectMapper.readValue(line, VoterRegistrationDTO.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            report.reject(lineNumber, null, "Malformed row");
+            return null;
+        }
+        if (dto == null) {
+            report.reject(lineNumber, null, "Malformed row");
+            return null;
+        }
+        Set<ConstraintViolation<VoterRegistrationDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            report.reject(lineNumber, dto.getEmail(), message);
+            return null;
+        }
+        return new ImportRow(lineNumber, dto);
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportReport report) {
+        // Drop duplicates inside the chunk and emails that are already registered, with one query
+        Set<String> seen = new HashSet<>();
+        Set<String> existing = voterRepository.findExistingEmails(
+                chunk.stream().map(row -> row.dto.getEmail()).collect(Collectors.toSet()));
+        List<ImportRow> accepted = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            String email = row.dto.getEmail();
+            if (existing.contains(email)) {
+                report.reject(row.line, email, "Voter with this email already exists");
+            } else if (!seen.add(email)) {
+                report.reject(row.line, email, "Duplicate email in import");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<Voter> voters = hashAll(accepted);
+        try {
+            transactionTemplate.executeWithoutResult(status -> voterRepository.saveAll(voters));
+            report.imported += voters.size();
+        } catch (DataIntegrityViolationException e) {
+            // Another registration raced this chunk; insert row by row to find the offending rows
+            for (int i = 0; i < voters.size(); i++) {
+                Voter voter = voters.get(i);
+                voter.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> voterRepository.save(voter));
+                    report.imported++;
+                } catch (DataIntegrityViolationException rowFailure) {
+                    report.reject(accepted.get(i).line, voter.getEmail(), "Voter with this email already exists");
+                }
+            }
+        }
+    }
+
+    private List<Voter> hashAll(List<ImportRow> rows) {
+        List<Callable<String>> tasks = rows.stream()
+                .map(row -> (Callable<String>) () -> hashEncoder.encode(row.dto.getPassword()))
+                .toList();
+        List<Voter> voters = new ArrayList<>(rows.size());
+        try {
+            List<Future<String>> hashes = hashExecutor.invokeAll(tasks);
+            for (int i = 0; i < rows.size(); i++) {
+                VoterRegistrationDTO dto = rows.get(i).dto;
+                Voter voter = Voter.builder()
+                        .name(dto.getName())
+                        .email(dto.getEmail())
+                        .passwordHash(hashes.get(i).get())
+                        .role(Role.VOTER)
+                        .build();
+                // Cached after the first row of each city
+                voter.assignCity(cityDirectory.resolve(dto.getCity()));
+                voters.add(voter);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Voter import was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+        return voters;
+    }
+
+    private static Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new BadRequestException("CSV import is empty, a header row is required");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsvLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(CSV_COLUMNS)) {
+            throw new BadRequestException("CSV header must contain the columns " + String.join(", ", CSV_COLUMNS));
+        }
+        return columns;
+    }
+
+    private static VoterRegistrationDTO fromCsv(String line, Map<String, Integer> columns) {
+        List<String> fields = splitCsvLine(line);
+        return new VoterRegistrationDTO(
+                field(fields, columns.get("name")),
+                field(fields, columns.get("email")),
+                field(fields, columns.get("password")),
+                field(fields, columns.get("city")));
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index).trim() : null;
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields with "" as an escaped quote
+     *
+     * @throws IllegalArgumentException if a quoted field is not closed
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static final class ImportRow {
+
+        final long line;
+        final VoterRegistrationDTO dto;
+
+        ImportRow(long line, VoterRegistrationDTO dto) {
+            this.line = line;
+            this.dto = dto;
+        }
+    }
+
+    private static final class ImportReport {
+
+        final int maxErrors;
+        final List<ImportRowErrorDTO> errors = new ArrayList<>();
+        long totalRows;
+        long imported;
+        long failed;
+
+        ImportReport(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void reject(long line, String email, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportRowErrorDTO(line, email, message));
+            }
+        }
+
+        VoterImportReportDTO toDTO() {
+            return new VoterImportReportDTO(totalRows, imported, failed, errors, failed > errors.size());
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.sprints.onlineVotingSystem.service;
 
+import com.sprints.onlineVotingSystem.domain.City;
 import com.sprints.onlineVotingSystem.domain.Voter;
+import com.sprints.onlineVotingSystem.dto.KeysetPageDTO;
 import com.sprints.onlineVotingSystem.exception.BadRequestException;
 import com.sprints.onlineVotingSystem.exception.ResourceNotFoundException;
 import com.sprints.onlineVotingSystem.repository.VoterRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,11 +19,13 @@ public class VoterService {
 
     private final VoterRepository voterRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CityDirectory cityDirectory;
 
     @Autowired
-    public VoterService(VoterRepository voterRepository, PasswordEncoder passwordEncoder) {
+    public VoterService(VoterRepository voterRepository, PasswordEncoder passwordEncoder, CityDirectory cityDirectory) {
         this.voterRepository = voterRepository;
         this.passwordEncoder = passwordEncoder;
+        this.cityDirectory = cityDirectory;
     }
 
     /**
@@ -37,19 +42,27 @@ public class VoterService {
         // Hash the password
         voter.setPasswordHash(passwordEncoder.encode(voter.getPasswordHash()));
         
+        voter.assignCity(cityDirectory.resolve(voter.getCity()));
+        
         return voterRepository.save(voter);
     }
 
     /**
-     * Get all voters filtered by city
+     * Get one page of the voters in a city, ordered by ID
      * @param city the city to filter by
-     * @return list of voters in the specified city
+     * @param after the last voter ID of the previous page, 0 for the first page
+     * @param limit the page size
+     * @return the page and the cursor for the next one
      */
-    public List<Voter> getVotersByCity(String city) {
+    public KeysetPageDTO<Voter> getVotersByCity(String city, long after, int limit) {
         if (city == null || city.trim().isEmpty()) {
             throw new BadRequestException("City name cannot be null or empty");
         }
-        return voterRepository.findByCity(city);
+        Limit fetchLimit = KeysetPaging.fetchLimit(after, limit);
+        List<Voter> rows = cityDirectory.find(city)
+                .map(c -> voterRepository.findByCityIdAndIdGreaterThanOrderByIdAsc(c.getId(), after, fetchLimit))
+                .orElse(List.of());
+        return KeysetPaging.page(rows, limit, Voter::getId);
     }
     
     /**
@@ -75,11 +88,13 @@ public class VoterService {
             throw new BadRequestException("City name cannot be null or empty");
         }
         
-        Voter voter = getVoterById(voterId);
-        int updatedRows = voterRepository.updateVoterCity(voterId, city);
+        City resolved = cityDirectory.resolve(city);
+        
+        // The update itself tells us whether the voter exists, no need to load it first
+        int updatedRows = voterRepository.updateVoterCity(voterId, resolved);
         
         if (updatedRows == 0) {
-            throw new BadRequestException("Failed to update voter city");
+            throw new ResourceNotFoundException("Voter", "id", voterId);
         }
     }
 }
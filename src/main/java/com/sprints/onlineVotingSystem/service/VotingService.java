@@ -4,7 +4,9 @@ import com.sprints.onlineVotingSystem.domain.Candidate;
 import com.sprints.onlineVotingSystem.domain.Election;
 import com.sprints.onlineVotingSystem.domain.Vote;
 import com.sprints.onlineVotingSystem.domain.Voter;
+import com.sprints.onlineVotingSystem.dto.VoteReceiptDTO;
 import com.sprints.onlineVotingSystem.dto.VoteRequestDTO;
+import com.sprints.onlineVotingSystem.event.VoteCastEvent;
 import com.sprints.onlineVotingSystem.exception.BadRequestException;
 import com.sprints.onlineVotingSystem.exception.ResourceNotFoundException;
 import com.sprints.onlineVotingSystem.exception.UnassignedVoterException;
@@ -13,22 +15,81 @@ import com.sprints.onlineVotingSystem.repository.CandidateRepository;
 import com.sprints.onlineVotingSystem.repository.ElectionRepository;
 import com.sprints.onlineVotingSystem.repository.VoteRepository;
 import com.sprints.onlineVotingSystem.repository.VoterRepository;
-import lombok.RequiredArgsConstructor;
+import com.sprints.onlineVotingSystem.util.LogEvents;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class VotingService {
     
+    static final String STAGE_METRIC = "voting.cast.stage";
+    static final String REJECTED_METRIC = "voting.cast.rejected";
+    
+    // Stages of castVote, also used as the reason of a rejection
+    static final String REQUEST = "request";
+    static final String VOTER_LOOKUP = "voter_lookup";
+    static final String WINDOW_CHECK = "window_check";
+    static final String CANDIDATE_LOOKUP = "candidate_lookup";
+    static final String DUPLICATE_CHECK = "duplicate_check";
+    static final String INSERT = "insert";
+    static final String COMMIT = "commit";
+    static final String BALLOT = "ballot";
+    
     private final VoteRepository voteRepository;
     private final VoterRepository voterRepository;
     private final CandidateRepository candidateRepository;
     private final ElectionRepository electionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VotingWindowEvaluator votingWindowEvaluator;
+    private final MeterRegistry meterRegistry;
+    
+    private final Timer voterLookupTimer;
+    private final Timer windowCheckTimer;
+    private final Timer candidateLookupTimer;
+    private final Timer duplicateCheckTimer;
+    private final Timer insertTimer;
+    private final Timer commitTimer;
+    
+    // Skip the duplicate-vote query and rely on the unique constraint of the vote table
+    @Value("${voting.insert-first:false}")
+    private boolean insertFirst;
+    
+    public VotingService(VoteRepository voteRepository,
+                         VoterRepository voterRepository,
+                         CandidateRepository candidateRepository,
+                         ElectionRepository electionRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         VotingWindowEvaluator votingWindowEvaluator,
+                         MeterRegistry meterRegistry) {
+        this.voteRepository = voteRepository;
+        this.voterRepository = voterRepository;
+        this.candidateRepository = candidateRepository;
+        this.electionRepository = electionRepository;
+        this.eventPublisher = eventPublisher;
+        this.votingWindowEvaluator = votingWindowEvaluator;
+        this.meterRegistry = meterRegistry;
+        
+        this.voterLookupTimer = stageTimer(VOTER_LOOKUP);
+        this.windowCheckTimer = stageTimer(WINDOW_CHECK);
+        this.candidateLookupTimer = stageTimer(CANDIDATE_LOOKUP);
+        this.duplicateCheckTimer = stageTimer(DUPLICATE_CHECK);
+        this.insertTimer = stageTimer(INSERT);
+        this.commitTimer = stageTimer(COMMIT);
+    }
     
     /**
      * Casts a vote for a candidate in an election with various restrictions
@@ -43,36 +104,126 @@ public class VotingService {
      */
     @Transactional
     public Vote castVote(VoteRequestDTO voteRequest, String voterEmail) {
-        log.info("Voter {} attempting to cast vote for candidate {} in election {}", 
+        log.debug("Voter {} attempting to cast vote for candidate {} in election {}", 
                 voterEmail, voteRequest.getCandidateId(), voteRequest.getElectionId());
         
-        // Validate input
-        validateVoteRequest(voteRequest);
+        String stage = REQUEST;
+        try {
+            // Validate input
+            validateVoteRequest(voteRequest);
+            
+            // Get voter and check that they are assigned to a city
+            stage = VOTER_LOOKUP;
+            Voter voter = voterLookupTimer.record(() -> {
+                Voter found = getVoterByEmail(voterEmail);
+                validateVoterAssignment(found);
+                return found;
+            });
+            
+            // Get election and validate voting window
+            stage = WINDOW_CHECK;
+            Election election = windowCheckTimer.record(() -> {
+                Election found = getElectionById(voteRequest.getElectionId());
+                validateVotingWindow(found);
+                return found;
+            });
+            
+            // Get candidate and validate it belongs to the election
+            stage = CANDIDATE_LOOKUP;
+            Candidate candidate = candidateLookupTimer.record(() -> {
+                Candidate found = getCandidateById(voteRequest.getCandidateId());
+                validateCandidateElection(found, election);
+                return found;
+            });
+            
+            // Check if voter has already voted in this election
+            if (!insertFirst) {
+                stage = DUPLICATE_CHECK;
+                duplicateCheckTimer.record(() -> checkDuplicateVote(voter, election));
+            }
+            
+            // Create and save the vote
+            stage = INSERT;
+            Vote vote = insertTimer.record(() -> createVote(voter, candidate, election));
+            timeCommit();
+            eventPublisher.publishEvent(new VoteCastEvent(election.getId(), candidate.getId(), candidate.getName(), voterEmail, voter.getCityId()));
+            
+            log.atInfo().addKeyValue(LogEvents.EVENT, LogEvents.VOTE_CAST)
+                    .log("Vote successfully cast by voter {} for candidate {} in election {}",
+                            voterEmail, candidate.getId(), election.getId());
+            
+            return vote;
+        } catch (RuntimeException e) {
+            countRejection(stage, e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Casts a vote with a single round-trip to the database.
+     * Eligibility, the voting window, candidate membership and duplicates are all checked by the
+     * insert statement itself. Only when nothing was inserted are the individual checks re-run,
+     * so rejected ballots fail with the same exceptions as {@link #castVote}.
+     * 
+     * @param voteRequest The voting request containing candidate and election IDs
+     * @param voterEmail The email of the authenticated voter
+     * @return A receipt describing the recorded vote
+     * @throws VotingClosedException if voting is outside the allowed time window
+     * @throws UnassignedVoterException if the voter is not assigned to a city
+     * @throws BadRequestException if the request is invalid
+     * @throws ResourceNotFoundException if resources are not found
+     */
+    @Transactional
+    public VoteReceiptDTO submitBallot(VoteRequestDTO voteRequest, String voterEmail) {
+        LocalDateTime now;
+        try {
+            validateVoteRequest(voteRequest);
+            
+            now = votingWindowEvaluator.now();
+            int inserted;
+            try {
+                inserted = voteRepository.insertVoteIfEligible(voterEmail, voteRequest.getElectionId(),
+                        voteRequest.getCandidateId(), now.toLocalDate(), now);
+            } catch (DataIntegrityViolationException e) {
+                throw translateIntegrityViolation(e, voterEmail, voteRequest.getElectionId());
+            }
+            
+            if (inserted == 0) {
+                explainRejectedBallot(voteRequest, voterEmail);
+            }
+        } catch (RuntimeException e) {
+            countRejection(BALLOT, e);
+            throw e;
+        }
+        // The insert cannot return the joined voter row portably, so the city is read on the same
+        // connection before commit instead of by every listener afterwards
+        Integer cityId = voterRepository.findCityIdByEmail(voterEmail).orElse(null);
+        eventPublisher.publishEvent(new VoteCastEvent(voteRequest.getElectionId(), voteRequest.getCandidateId(), null, voterEmail, cityId));
+        
+        log.atInfo().addKeyValue(LogEvents.EVENT, LogEvents.BALLOT_RECORDED)
+                .log("Ballot recorded for voter {} in election {}", voterEmail, voteRequest.getElectionId());
         
-        // Get voter
+        return new VoteReceiptDTO(null, voteRequest.getElectionId(), voteRequest.getCandidateId(), voterEmail, now);
+    }
+    
+    /**
+     * Re-runs the individual vote checks to find out why a ballot was not inserted
+     * and throws the matching exception
+     */
+    private void explainRejectedBallot(VoteRequestDTO voteRequest, String voterEmail) {
         Voter voter = getVoterByEmail(voterEmail);
-        
-        // Check if voter is assigned to a city
         validateVoterAssignment(voter);
         
-        // Get election and validate voting window
         Election election = getElectionById(voteRequest.getElectionId());
         validateVotingWindow(election);
         
-        // Get candidate and validate it belongs to the election
         Candidate candidate = getCandidateById(voteRequest.getCandidateId());
         validateCandidateElection(candidate, election);
         
-        // Check if voter has already voted in this election
         checkDuplicateVote(voter, election);
         
-        // Create and save the vote
-        Vote vote = createVote(voter, candidate, election);
-        
-        log.info("Vote successfully cast by voter {} for candidate {} in election {}", 
-                voterEmail, candidate.getName(), election.getTitle());
-        
-        return vote;
+        // All checks pass now, so the state changed between the insert and the checks
+        throw new BadRequestException("Vote could not be recorded, please try again");
     }
     
     /**
@@ -99,7 +250,7 @@ public class VotingService {
      * Validates that the voter is assigned to a city
      */
     private void validateVoterAssignment(Voter voter) {
-        if (voter.getCity() == null || voter.getCity().trim().isEmpty()) {
+        if (voter.getCityId() == null) {
             log.warn("Unassigned voter {} attempted to vote", voter.getEmail());
             throw new UnassignedVoterException("Voter must be assigned to a city before voting. Please contact your election administrator.");
         }
@@ -118,26 +269,21 @@ public class VotingService {
      * Validates that the current time is within the voting window
      */
     private void validateVotingWindow(Election election) {
-        LocalDateTime now = LocalDateTime.now();
-        
         if (election.getStartDate() == null || election.getEndDate() == null) {
             throw new BadRequestException("Election dates are not properly configured");
         }
         
-        if (now.isBefore(election.getStartDate().atStartOfDay())) {
-            log.warn("Voting attempted before election start date: {} (current: {})", 
-                    election.getStartDate(), now.toLocalDate());
-            throw new VotingClosedException("Voting has not started yet. Election begins on " + election.getStartDate());
-        }
-        
-        if (now.isAfter(election.getEndDate().atTime(23, 59, 59))) {
-            log.warn("Voting attempted after election end date: {} (current: {})", 
-                    election.getEndDate(), now.toLocalDate());
-            throw new VotingClosedException("Voting has ended. Election closed on " + election.getEndDate());
+        switch (votingWindowEvaluator.status(election)) {
+            case NOT_STARTED -> {
+                log.warn("Voting attempted before election start date: {}", election.getStartDate());
+                throw new VotingClosedException("Voting has not started yet. Election begins on " + election.getStartDate());
+            }
+            case CLOSED -> {
+                log.warn("Voting attempted after election end date: {}", election.getEndDate());
+                throw new VotingClosedException("Voting has ended. Election closed on " + election.getEndDate());
+            }
+            default -> log.debug("Voting window validation passed for election: {}", election.getTitle());
         }
-        
-        log.debug("Voting window validation passed for election: {} (current: {})", 
-                election.getTitle(), now);
     }
     
     /**
@@ -178,9 +324,82 @@ public class VotingService {
                 .voter(voter)
                 .candidate(candidate)
                 .election(election)
-                .voteTime(LocalDateTime.now())
+                .voteTime(votingWindowEvaluator.now())
                 .build();
         
-        return voteRepository.save(vote);
+        if (!insertFirst) {
+            return voteRepository.save(vote);
+        }
+        
+        // Flush right away so a duplicate vote fails here instead of at commit time
+        try {
+            return voteRepository.saveAndFlush(vote);
+        } catch (DataIntegrityViolationException e) {
+            throw translateIntegrityViolation(e, voter.getEmail(), election.getId());
+        }
+    }
+    
+    /**
+     * Turns a violation of the one-vote-per-election constraint into the "already voted" response,
+     * any other integrity violation is passed on unchanged
+     */
+    private RuntimeException translateIntegrityViolation(DataIntegrityViolationException e, String voterEmail, Long electionId) {
+        if (!isDuplicateVote(e)) {
+            return e;
+        }
+        log.warn("Voter {} attempted to vote again in election {}", voterEmail, electionId);
+        return new BadRequestException("You have already voted in this election", e);
+    }
+    
+    /**
+     * Times the flush and commit of the surrounding transaction, where the vote insert
+     * actually reaches the database unless voting.insert-first is set
+     */
+    private void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private Timer.Sample sample;
+            
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                sample = Timer.start(meterRegistry);
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                if (sample != null) {
+                    sample.stop(commitTimer);
+                }
+            }
+        });
+    }
+    
+    private Timer stageTimer(String stage) {
+        return Timer.builder(STAGE_METRIC)
+                .description("Time spent in each stage of casting a vote")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Counts a rejected vote by the stage that rejected it and the exception type
+     */
+    private void countRejection(String stage, RuntimeException e) {
+        Counter.builder(REJECTED_METRIC)
+                .description("Votes rejected, by stage and exception type")
+                .tag("reason", stage)
+                .tag("exception", e.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    private boolean isDuplicateVote(DataIntegrityViolationException e) {
+        String constraint = Vote.VOTER_ELECTION_CONSTRAINT.toUpperCase(Locale.ROOT);
+        if (e.getCause() instanceof ConstraintViolationException cve && cve.getConstraintName() != null) {
+            return cve.getConstraintName().toUpperCase(Locale.ROOT).contains(constraint);
+        }
+        return e.getMessage() != null && e.getMessage().toUpperCase(Locale.ROOT).contains(constraint);
     }
 }
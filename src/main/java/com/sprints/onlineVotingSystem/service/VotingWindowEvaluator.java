@@ -0,0 +1,62 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.sprints.onlineVotingSystem.domain.Election;
+import com.sprints.onlineVotingSystem.domain.VotingWindow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Decides whether an election is open using its precomputed voting window and the application clock.
+ * The window is computed once per election instance, so repeated checks on a cached election
+ * only compare two longs.
+ */
+@Component
+@RequiredArgsConstructor
+public class VotingWindowEvaluator {
+
+    public enum Status { NOT_STARTED, OPEN, CLOSED }
+
+    private final Clock clock;
+
+    /**
+     * Returns where the current instant falls relative to the election's voting window
+     * 
+     * @param election The election, which must have both dates set
+     * @return The window status
+     */
+    public Status status(Election election) {
+        VotingWindow window = windowOf(election);
+        long now = clock.millis();
+        if (now < window.getOpensAtEpochMilli()) {
+            return Status.NOT_STARTED;
+        }
+        return now < window.getClosesAtEpochMilli() ? Status.OPEN : Status.CLOSED;
+    }
+
+    public boolean isOpen(Election election) {
+        return status(election) == Status.OPEN;
+    }
+
+    /**
+     * Current local date-time in the voting time zone
+     */
+    public LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    /**
+     * Returns the election's voting window, computing and caching it on the election when
+     * missing or when its dates have changed
+     */
+    VotingWindow windowOf(Election election) {
+        VotingWindow window = election.cachedVotingWindow();
+        if (window == null || !window.isFor(election.getStartDate(), election.getEndDate(), clock.getZone())) {
+            window = VotingWindow.of(election.getStartDate(), election.getEndDate(), clock.getZone());
+            election.cacheVotingWindow(window);
+        }
+        return window;
+    }
+}
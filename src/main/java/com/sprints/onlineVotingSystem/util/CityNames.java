@@ -0,0 +1,41 @@
+package com.sprints.onlineVotingSystem.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical forms of free-text city names.
+ * <p>
+ * The display form only trims and collapses whitespace. The lookup key additionally lower-cases
+ * with the configured locale, folds compatibility characters and strips accents, so "  Cairo",
+ * "cairo" and "Cáiro" all resolve to the same city.
+ */
+public final class CityNames {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private CityNames() {
+    }
+
+    /**
+     * The name as it should be stored and shown, or an empty string for a blank name
+     */
+    public static String displayName(String name) {
+        if (name == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(name.strip()).replaceAll(" ");
+    }
+
+    /**
+     * The key spelling variants of one city share, or an empty string for a blank name
+     */
+    public static String lookupKey(String name, Locale locale) {
+        // Lower-case before stripping accents, so locale rules such as Turkish dotted I still apply
+        String lowerCase = displayName(name).toLowerCase(locale);
+        String decomposed = Normalizer.normalize(lowerCase, Normalizer.Form.NFKD);
+        return Normalizer.normalize(COMBINING_MARKS.matcher(decomposed).replaceAll(""), Normalizer.Form.NFC);
+    }
+}
@@ -0,0 +1,91 @@
+package com.sprints.onlineVotingSystem.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.event.KeyValuePair;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback filter that keeps one in every N log events of a given {@link LogEvents event type}.
+ * <p>
+ * Rates are configured as {@code type=N} pairs, e.g. {@code vote.cast=100,login.succeeded=10}.
+ * Events without an event type, of a type without a rate, or logged at WARN and above always pass,
+ * so only the success paths are thinned out. The exact counts stay available from the metrics.
+ */
+public class EventSamplingFilter extends Filter<ILoggingEvent> {
+
+    private String rates = "";
+    private Map<String, Sample> samples = Map.of();
+
+    public void setRates(String rates) {
+        this.rates = rates;
+    }
+
+    @Override
+    public void start() {
+        try {
+            samples = parse(rates);
+            super.start();
+        } catch (IllegalArgumentException e) {
+            addError("Invalid log sampling rates: " + rates, e);
+        }
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (samples.isEmpty() || event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        Sample sample = samples.get(eventType(event.getKeyValuePairs()));
+        if (sample == null || sample.keep()) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+
+    private static String eventType(List<KeyValuePair> keyValuePairs) {
+        if (keyValuePairs != null) {
+            for (KeyValuePair pair : keyValuePairs) {
+                if (LogEvents.EVENT.equals(pair.key)) {
+                    return String.valueOf(pair.value);
+                }
+            }
+        }
+        return "";
+    }
+
+    static Map<String, Sample> parse(String rates) {
+        Map<String, Sample> samples = new HashMap<>();
+        if (rates == null || rates.isBlank()) {
+            return samples;
+        }
+        for (String entry : rates.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2 || parts[0].isBlank()) {
+                throw new IllegalArgumentException("Expected type=N but got: " + entry);
+            }
+            long oneIn = Long.parseLong(parts[1].trim());
+            if (oneIn < 1) {
+                throw new IllegalArgumentException("Sampling rate must be at least 1 for " + parts[0].trim());
+            }
+            samples.put(parts[0].trim(), new Sample(oneIn, new AtomicLong()));
+        }
+        return samples;
+    }
+
+    /**
+     * Keeps the first event of a type and then every N-th one
+     */
+    record Sample(long oneIn, AtomicLong seen) {
+
+        boolean keep() {
+            return seen.getAndIncrement() % oneIn == 0;
+        }
+    }
+}
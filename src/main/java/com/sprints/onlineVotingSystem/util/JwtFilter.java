@@ -1,6 +1,11 @@
 package com.sprints.onlineVotingSystem.util;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
 import io.micrometer.common.lang.NonNull;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,9 +30,13 @@ public class JwtFilter extends OncePerRequestFilter {
 
     // Utility class to handle JWT creation, parsing, and validation
     private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
+    private final Timer validTokenTimer;
 
-    public JwtFilter(JwtUtil jwtUtil) {
+    public JwtFilter(JwtUtil jwtUtil, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
+        this.validTokenTimer = tokenTimer("valid");
     }
 
     @Override
@@ -40,18 +49,21 @@ public class JwtFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
+            Timer.Sample sample = Timer.start(meterRegistry);
             try {
-                if (jwtUtil.validateToken(token)) {
-                    String username = jwtUtil.extractUsername(token);
-                    String role = jwtUtil.extractRole(token);
+                // Verify the token once and read everything from the same claims
+                Claims claims = jwtUtil.parse(token);
+                String username = claims.getSubject();
+                String role = claims.get("role", String.class);
 
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(username, null, List.of(() -> "ROLE_" + role));
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(username, null, List.of(() -> "ROLE_" + role));
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                sample.stop(validTokenTimer);
             } catch (RuntimeException ex) {
+                sample.stop(tokenTimer(failureOutcome(ex)));
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.setContentType("application/json");
                 response.getWriter().write("{\"error\": \"" + ex.getMessage() + "\"}");
@@ -60,4 +72,26 @@ public class JwtFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Maps a rejected token to one of a fixed set of outcomes: expired, malformed or invalid
+     * (bad signature, unsupported or otherwise unusable)
+     */
+    static String failureOutcome(RuntimeException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof ExpiredJwtException) {
+            return "expired";
+        }
+        if (cause instanceof MalformedJwtException) {
+            return "malformed";
+        }
+        return "invalid";
+    }
+
+    private Timer tokenTimer(String outcome) {
+        return Timer.builder("auth.jwt.verify")
+                .description("Time to verify the JWT of a request, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
@@ -1,5 +1,8 @@
 package com.sprints.onlineVotingSystem.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,6 +12,7 @@ import jakarta.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
@@ -19,8 +23,17 @@ public class JwtUtil {
     @Value("${jwt.expiration:3600000}")
     private long expirationTime;
     
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+    
     private Key key;
     
+    // Built once, the parser is immutable and safe to share between threads
+    private JwtParser parser;
+    
+    // Verified claims per token, each entry expires together with its token
+    private Cache<String, Claims> claimsCache;
+    
     @PostConstruct
     public void init() {
         // Use the configured secret or generate a new one if not configured
@@ -29,6 +42,11 @@ public class JwtUtil {
         } else {
             this.key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
         }
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .build();
     }
 
     public String generateToken(String username, String role) {
@@ -41,26 +59,60 @@ public class JwtUtil {
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the token and returns its claims.
+     * Tokens that were already verified are served from the cache until they expire.
+     *
+     * @throws RuntimeException if the token is expired or invalid, caused by the JJWT exception
+     */
+    public Claims parse(String token) {
+        Claims cached = claimsCache.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims;
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            claims = parser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
-            throw new RuntimeException("Token expired");
+            throw new RuntimeException("Token expired", e);
         } catch (JwtException e) {
-            throw new RuntimeException("Invalid token");
+            throw new RuntimeException("Invalid token", e);
+        }
+        if (claims.getExpiration() != null) {
+            claimsCache.put(token, claims);
         }
+        return claims;
+    }
+
+    public boolean validateToken(String token) {
+        parse(token);
+        return true;
     }
 
     public String extractUsername(String token) {
-        return getClaims(token).getSubject();
+        return parse(token).getSubject();
     }
 
     public String extractRole(String token) {
-        return getClaims(token).get("role", String.class);
+        return parse(token).get("role", String.class);
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
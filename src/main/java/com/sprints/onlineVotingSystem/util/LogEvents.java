@@ -0,0 +1,20 @@
+package com.sprints.onlineVotingSystem.util;
+
+/**
+ * Event types of the high-volume success-path log lines.
+ * <p>
+ * They are attached to the log event as the {@value #EVENT} key-value pair, which the JSON
+ * console output of the prod profile writes as a field of its own and which
+ * {@link EventSamplingFilter} samples by.
+ */
+public final class LogEvents {
+
+    public static final String EVENT = "event";
+
+    public static final String VOTE_CAST = "vote.cast";
+    public static final String BALLOT_RECORDED = "ballot.recorded";
+    public static final String LOGIN_SUCCEEDED = "login.succeeded";
+
+    private LogEvents() {
+    }
+}
@@ -0,0 +1,19 @@
+-- City dimension: voters reference a normalized city row by integer key.
+-- users.city keeps the display spelling; V4 (a Java migration) fills city_id for existing voters.
+
+CREATE SEQUENCE city_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE city (
+    id              INTEGER      NOT NULL,
+    name            VARCHAR(255) NOT NULL,
+    normalized_name VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_city PRIMARY KEY (id),
+    CONSTRAINT uk_city_normalized_name UNIQUE (normalized_name)
+);
+
+ALTER TABLE users ADD COLUMN city_id INTEGER;
+ALTER TABLE users ADD CONSTRAINT fk_users_city FOREIGN KEY (city_id) REFERENCES city (id);
+
+-- Per-city listing, keyset paging and counts now filter on the integer key
+CREATE INDEX idx_users_city_ref ON users (city_id, id);
+DROP INDEX idx_users_city_id;
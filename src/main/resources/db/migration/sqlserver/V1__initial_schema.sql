@@ -0,0 +1,51 @@
+-- Initial schema, matching the JPA entity mappings (SQL Server)
+
+CREATE SEQUENCE users_seq AS BIGINT START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE election_seq AS BIGINT START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE candidate_seq AS BIGINT START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE vote_seq AS BIGINT START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id            BIGINT       NOT NULL,
+    name          VARCHAR(100) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    role          VARCHAR(20)  NOT NULL CONSTRAINT ck_users_role CHECK (role IN ('ADMIN', 'VOTER')),
+    city          VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE election (
+    id         BIGINT       NOT NULL,
+    title      VARCHAR(255) NOT NULL,
+    start_date DATE         NOT NULL,
+    end_date   DATE         NOT NULL,
+    CONSTRAINT pk_election PRIMARY KEY (id)
+);
+
+CREATE TABLE candidate (
+    id          BIGINT       NOT NULL,
+    name        VARCHAR(100) NOT NULL,
+    election_id BIGINT       NOT NULL,
+    CONSTRAINT pk_candidate PRIMARY KEY (id),
+    CONSTRAINT fk_candidate_election FOREIGN KEY (election_id) REFERENCES election (id)
+);
+
+CREATE TABLE vote (
+    id           BIGINT       NOT NULL,
+    vote_time    DATETIME2(6),
+    receipt_id   VARCHAR(36),
+    candidate_id BIGINT       NOT NULL,
+    election_id  BIGINT       NOT NULL,
+    voter_id     BIGINT       NOT NULL,
+    CONSTRAINT pk_vote PRIMARY KEY (id),
+    CONSTRAINT uk_vote_voter_election UNIQUE (voter_id, election_id),
+    CONSTRAINT fk_vote_candidate FOREIGN KEY (candidate_id) REFERENCES candidate (id),
+    CONSTRAINT fk_vote_election FOREIGN KEY (election_id) REFERENCES election (id),
+    CONSTRAINT fk_vote_voter FOREIGN KEY (voter_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_vote_election_candidate ON vote (election_id, candidate_id);
+CREATE INDEX idx_vote_receipt ON vote (receipt_id);
+CREATE INDEX idx_users_city_id ON users (city, id);
@@ -0,0 +1,9 @@
+-- Indexes for the foreign keys repository queries filter and join on.
+-- vote.voter_id is covered by uk_vote_voter_election, vote.election_id by idx_vote_election_candidate
+-- and users.city by idx_users_city_id.
+
+-- CandidateRepository.findByElectionId / deleteByElectionId, candidates listed per election by ID
+CREATE INDEX idx_candidate_election ON candidate (election_id, id);
+
+-- Votes looked up by candidate, e.g. foreign key checks when candidates are removed
+CREATE INDEX idx_vote_candidate ON vote (candidate_id);
@@ -0,0 +1,130 @@
+package com.sprints.onlineVotingSystem.config;
+
+import com.sprints.onlineVotingSystem.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+    private ExecutorService callers;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.destroy();
+        }
+        if (callers != null) {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_RunOnWorkerPool() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(4, 1, 1, 2, meterRegistry);
+
+        // Act
+        String hash = encoder.encode("password123");
+
+        // Assert
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("auth.bcrypt").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("auth.bcrypt").tag("operation", "matches").timer().count());
+        assertEquals(3, meterRegistry.get("auth.bcrypt.queue.wait").timer().count());
+    }
+
+    @Test
+    void matches_QueueFull_ThrowsServiceUnavailable() throws Exception {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(4, 1, 1, 7, meterRegistry);
+        String hash = new BCryptPasswordEncoder(4).encode("password123");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CharSequence blockingPassword = new BlockingCharSequence("password123", started, release);
+        callers = Executors.newFixedThreadPool(2);
+        callers.submit(() -> encoder.matches(blockingPassword, hash));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> encoder.matches("password123", hash));
+        waitForQueueDepth(1);
+
+        // Act & Assert
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> encoder.matches("password123", hash));
+        assertEquals(7, ex.getRetryAfterSeconds());
+        release.countDown();
+    }
+
+    @Test
+    void upgradeEncoding_WeakerHash_ReturnsTrue() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(5, 1, 1, 2, meterRegistry);
+        String weakHash = new BCryptPasswordEncoder(4).encode("password123");
+        String currentHash = new BCryptPasswordEncoder(5).encode("password123");
+
+        // Act & Assert
+        assertTrue(encoder.upgradeEncoding(weakHash));
+        assertFalse(encoder.upgradeEncoding(currentHash));
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (encoder.getQueueDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(depth, encoder.getQueueDepth());
+    }
+
+    /**
+     * Holds the single worker thread inside matches() until released
+     */
+    private static final class BlockingCharSequence implements CharSequence {
+
+        private final String value;
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        BlockingCharSequence(String value, CountDownLatch started, CountDownLatch release) {
+            this.value = value;
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public int length() {
+            return value.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return value.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return value.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return value;
+        }
+    }
+}
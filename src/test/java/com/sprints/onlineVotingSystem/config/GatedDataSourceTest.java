@@ -0,0 +1,83 @@
+package com.sprints.onlineVotingSystem.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GatedDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection targetConnection;
+
+    private GatedDataSource gatedDataSource;
+
+    @BeforeEach
+    void setUp() {
+        gatedDataSource = new GatedDataSource(targetDataSource, 2, 50);
+    }
+
+    @Test
+    void getConnection_BeyondPermits_TimesOut() throws SQLException {
+        // Arrange
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        gatedDataSource.getConnection();
+        gatedDataSource.getConnection();
+
+        // Act & Assert
+        assertThrows(SQLTransientConnectionException.class, () -> gatedDataSource.getConnection());
+        verify(targetDataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void close_ReleasesPermitOnlyOnce() throws SQLException {
+        // Arrange
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        Connection connection = gatedDataSource.getConnection();
+
+        // Act
+        connection.close();
+        connection.close();
+
+        // Assert
+        assertEquals(2, gatedDataSource.getAvailablePermits());
+        verify(targetConnection, times(2)).close();
+    }
+
+    @Test
+    void getConnection_TargetFails_ReleasesPermit() throws SQLException {
+        // Arrange
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        // Act & Assert
+        assertThrows(SQLException.class, () -> gatedDataSource.getConnection());
+        assertEquals(2, gatedDataSource.getAvailablePermits());
+    }
+
+    @Test
+    void connection_DelegatesOtherCalls() throws SQLException {
+        // Arrange
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        when(targetConnection.getAutoCommit()).thenReturn(true);
+
+        // Act
+        Connection connection = gatedDataSource.getConnection();
+
+        // Assert
+        assertTrue(connection.getAutoCommit());
+        assertEquals(1, gatedDataSource.getAvailablePermits());
+    }
+}
@@ -0,0 +1,36 @@
+package com.sprints.onlineVotingSystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadsConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadsConfig.class);
+
+    @Test
+    void requireVirtualThreads_BeforeJava21_Throws() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> VirtualThreadsConfig.requireVirtualThreads(17));
+
+        assertTrue(exception.getMessage().contains("Java 21"));
+    }
+
+    @Test
+    void requireVirtualThreads_Java21_Passes() {
+        assertDoesNotThrow(() -> VirtualThreadsConfig.requireVirtualThreads(21));
+    }
+
+    @Test
+    void context_VirtualThreadsEnabled_FailsOnlyBeforeJava21() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> assertEquals(Runtime.version().feature() < 21, context.getStartupFailure() != null));
+    }
+
+    @Test
+    void context_VirtualThreadsDisabled_Starts() {
+        contextRunner.run(context -> assertNull(context.getStartupFailure()));
+    }
+}
@@ -1,18 +1,25 @@
 package com.sprints.onlineVotingSystem.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sprints.onlineVotingSystem.dto.CandidateResultDTO;
+import com.sprints.onlineVotingSystem.exception.ResourceNotFoundException;
 import com.sprints.onlineVotingSystem.service.ElectionResultService;
+import com.sprints.onlineVotingSystem.service.ElectionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,6 +30,12 @@ class AdminControllerTest {
     @Mock
     private ElectionResultService electionResultService;
 
+    @Mock
+    private ElectionService electionService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private AdminController adminController;
 
@@ -69,4 +82,36 @@ class AdminControllerTest {
         assertNull(response.getBody());
         verify(electionResultService, times(1)).getElectionResults();
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getElectionResultsById_StreamsJsonArray() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<CandidateResultDTO> consumer = invocation.getArgument(1);
+            mockResults.forEach(consumer);
+            return null;
+        }).when(electionResultService).streamElectionResults(eq(1L), any(Consumer.class));
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = adminController.getElectionResultsById(1L);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        CandidateResultDTO[] streamed = objectMapper.readValue(output.toByteArray(), CandidateResultDTO[].class);
+        assertEquals(mockResults, Arrays.asList(streamed));
+        verify(electionService).getElectionById(1L);
+    }
+
+    @Test
+    void getElectionResultsById_UnknownElection_ThrowsResourceNotFoundException() {
+        // Arrange
+        when(electionService.getElectionById(99L)).thenThrow(new ResourceNotFoundException("Election not found with ID: 99"));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> adminController.getElectionResultsById(99L));
+        verifyNoInteractions(electionResultService);
+    }
 }
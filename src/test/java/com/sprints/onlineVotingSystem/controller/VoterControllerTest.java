@@ -1,9 +1,17 @@
 package com.sprints.onlineVotingSystem.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sprints.onlineVotingSystem.domain.Candidate;
+import com.sprints.onlineVotingSystem.domain.Election;
 import com.sprints.onlineVotingSystem.domain.Role;
+import com.sprints.onlineVotingSystem.domain.Vote;
 import com.sprints.onlineVotingSystem.domain.Voter;
+import com.sprints.onlineVotingSystem.dto.KeysetPageDTO;
+import com.sprints.onlineVotingSystem.dto.VoteReceiptDTO;
+import com.sprints.onlineVotingSystem.dto.VoteRequestDTO;
 import com.sprints.onlineVotingSystem.exception.ResourceNotFoundException;
 import com.sprints.onlineVotingSystem.service.VoterService;
+import com.sprints.onlineVotingSystem.service.VotingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +21,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -26,6 +36,9 @@ class VoterControllerTest {
     @Mock
     private VoterService voterService;
 
+    @Mock
+    private VotingService votingService;
+
     @InjectMocks
     private VoterController voterController;
 
@@ -58,18 +71,18 @@ class VoterControllerTest {
         // Arrange
         String cityName = "New York";
         List<Voter> expectedVoters = Arrays.asList(testVoter1, testVoter2);
-        when(voterService.getVotersByCity(cityName)).thenReturn(expectedVoters);
+        when(voterService.getVotersByCity(cityName, 0L, 100)).thenReturn(new KeysetPageDTO<>(expectedVoters, null));
 
         // Act
-        ResponseEntity<List<Voter>> response = voterController.getVotersByCity(cityName);
+        ResponseEntity<KeysetPageDTO<Voter>> response = voterController.getVotersByCity(cityName, 0L, 100);
 
         // Assert
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(expectedVoters, response.getBody());
-        assertEquals(2, response.getBody().size());
+        assertEquals(expectedVoters, response.getBody().getItems());
+        assertEquals(2, response.getBody().getItems().size());
         
-        verify(voterService, times(1)).getVotersByCity(cityName);
+        verify(voterService, times(1)).getVotersByCity(cityName, 0L, 100);
     }
 
     @Test
@@ -77,18 +90,18 @@ class VoterControllerTest {
         // Arrange
         String cityName = "Los Angeles";
         List<Voter> expectedVoters = Collections.emptyList();
-        when(voterService.getVotersByCity(cityName)).thenReturn(expectedVoters);
+        when(voterService.getVotersByCity(cityName, 0L, 100)).thenReturn(new KeysetPageDTO<>(expectedVoters, null));
 
         // Act
-        ResponseEntity<List<Voter>> response = voterController.getVotersByCity(cityName);
+        ResponseEntity<KeysetPageDTO<Voter>> response = voterController.getVotersByCity(cityName, 0L, 100);
 
         // Assert
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(expectedVoters, response.getBody());
-        assertTrue(response.getBody().isEmpty());
+        assertEquals(expectedVoters, response.getBody().getItems());
+        assertTrue(response.getBody().getItems().isEmpty());
         
-        verify(voterService, times(1)).getVotersByCity(cityName);
+        verify(voterService, times(1)).getVotersByCity(cityName, 0L, 100);
     }
 
     @Test
@@ -96,18 +109,18 @@ class VoterControllerTest {
         // Arrange
         String cityName = "";
         List<Voter> expectedVoters = Collections.emptyList();
-        when(voterService.getVotersByCity(cityName)).thenReturn(expectedVoters);
+        when(voterService.getVotersByCity(cityName, 0L, 100)).thenReturn(new KeysetPageDTO<>(expectedVoters, null));
 
         // Act
-        ResponseEntity<List<Voter>> response = voterController.getVotersByCity(cityName);
+        ResponseEntity<KeysetPageDTO<Voter>> response = voterController.getVotersByCity(cityName, 0L, 100);
 
         // Assert
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(expectedVoters, response.getBody());
-        assertTrue(response.getBody().isEmpty());
+        assertEquals(expectedVoters, response.getBody().getItems());
+        assertTrue(response.getBody().getItems().isEmpty());
         
-        verify(voterService, times(1)).getVotersByCity(cityName);
+        verify(voterService, times(1)).getVotersByCity(cityName, 0L, 100);
     }
 
     @Test
@@ -115,18 +128,18 @@ class VoterControllerTest {
         // Arrange
         String cityName = null;
         List<Voter> expectedVoters = Collections.emptyList();
-        when(voterService.getVotersByCity(cityName)).thenReturn(expectedVoters);
+        when(voterService.getVotersByCity(cityName, 0L, 100)).thenReturn(new KeysetPageDTO<>(expectedVoters, null));
 
         // Act
-        ResponseEntity<List<Voter>> response = voterController.getVotersByCity(cityName);
+        ResponseEntity<KeysetPageDTO<Voter>> response = voterController.getVotersByCity(cityName, 0L, 100);
 
         // Assert
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(expectedVoters, response.getBody());
-        assertTrue(response.getBody().isEmpty());
+        assertEquals(expectedVoters, response.getBody().getItems());
+        assertTrue(response.getBody().getItems().isEmpty());
         
-        verify(voterService, times(1)).getVotersByCity(cityName);
+        verify(voterService, times(1)).getVotersByCity(cityName, 0L, 100);
     }
     
     @Test
@@ -160,4 +173,25 @@ class VoterControllerTest {
         
         verify(voterService, times(1)).getVoterById(voterId);
     }
+    
+    @Test
+    void castVote_ShouldReturnReceiptWithoutEntities() throws Exception {
+        // Arrange
+        Election election = new Election(3L, "City Election", LocalDate.now(), LocalDate.now().plusDays(1));
+        Candidate candidate = new Candidate(4L, "Candidate A", election);
+        Vote vote = Vote.builder().id(9L).voter(testVoter1).candidate(candidate).election(election)
+                .voteTime(LocalDateTime.of(2026, 1, 1, 10, 0)).build();
+        VoteRequestDTO request = new VoteRequestDTO(4L, 3L);
+        when(votingService.castVote(request, testVoter1.getEmail())).thenReturn(vote);
+        
+        // Act
+        ResponseEntity<VoteReceiptDTO> response = voterController.castVote(request, testVoter1.getEmail());
+        
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(new VoteReceiptDTO(9L, 3L, 4L, testVoter1.getEmail(), vote.getVoteTime()), response.getBody());
+        String json = new ObjectMapper().findAndRegisterModules().writeValueAsString(response.getBody());
+        assertFalse(json.contains("passwordHash"));
+        assertFalse(json.contains("City Election"));
+    }
 }
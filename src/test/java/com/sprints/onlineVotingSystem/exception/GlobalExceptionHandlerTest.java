@@ -79,6 +79,39 @@ class GlobalExceptionHandlerTest {
         assertEquals("/api/test", response.getBody().getPath());
     }
 
+    @Test
+    void handleTooManyRequestsException_ShouldReturn429WithRetryAfter() {
+        // Arrange
+        TooManyRequestsException ex = new TooManyRequestsException("Too many failed login attempts, please try again later", 42);
+        
+        // Act
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler
+                .handleTooManyRequestsException(ex, mockRequest);
+        
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("42", response.getHeaders().getFirst("Retry-After"));
+        assertEquals(429, response.getBody().getStatus());
+        assertEquals("Too Many Requests", response.getBody().getError());
+    }
+
+    @Test
+    void handleServiceUnavailableException_ShouldReturn503WithRetryAfter() {
+        // Arrange
+        ServiceUnavailableException ex = new ServiceUnavailableException("Authentication is busy, please retry shortly", 3);
+        
+        // Act
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler
+                .handleServiceUnavailableException(ex, mockRequest);
+        
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("3", response.getHeaders().getFirst("Retry-After"));
+        assertEquals(503, response.getBody().getStatus());
+        assertEquals("Service Unavailable", response.getBody().getError());
+        assertEquals("/api/test", response.getBody().getPath());
+    }
+
     @Test
     void handleValidationExceptions_ShouldReturn400StatusWithValidationErrors() {
         // Arrange
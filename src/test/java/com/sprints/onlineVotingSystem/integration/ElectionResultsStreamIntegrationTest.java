@@ -0,0 +1,163 @@
+package com.sprints.onlineVotingSystem.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sprints.onlineVotingSystem.domain.Candidate;
+import com.sprints.onlineVotingSystem.domain.Election;
+import com.sprints.onlineVotingSystem.domain.Role;
+import com.sprints.onlineVotingSystem.domain.Vote;
+import com.sprints.onlineVotingSystem.domain.Voter;
+import com.sprints.onlineVotingSystem.dto.LoginRequestDTO;
+import com.sprints.onlineVotingSystem.repository.CandidateRepository;
+import com.sprints.onlineVotingSystem.repository.ElectionRepository;
+import com.sprints.onlineVotingSystem.repository.VoteRepository;
+import com.sprints.onlineVotingSystem.repository.VoterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The streamed results endpoint through the real security filter chain: the body is written on an
+ * async dispatch that carries no token of its own. Not transactional, because the results are read
+ * on another thread and must see committed rows.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ElectionResultsStreamIntegrationTest {
+
+    private static final String ADMIN_EMAIL = "stream-admin@example.com";
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ElectionRepository electionRepository;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private VoterRepository voterRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger voterCount = new AtomicInteger();
+    private MockMvc mockMvc;
+    private Election election;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .build();
+
+        deleteUsers();
+        saveUser(ADMIN_EMAIL, Role.ADMIN);
+
+        election = electionRepository.save(Election.builder()
+                .title("Streamed Results Election")
+                .startDate(LocalDate.now().plusDays(1))
+                .endDate(LocalDate.now().plusDays(2))
+                .build());
+        Candidate first = saveCandidate("Stream Candidate A");
+        Candidate second = saveCandidate("Stream Candidate B");
+        // A gets two votes, B one
+        for (Candidate candidate : new Candidate[]{first, first, second}) {
+            Voter voter = saveUser("stream-voter" + voterCount.incrementAndGet() + "@example.com", Role.VOTER);
+            voteRepository.save(Vote.builder().voter(voter).candidate(candidate).election(election).build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (election != null) {
+            jdbcTemplate.update("DELETE FROM vote WHERE election_id = ?", election.getId());
+            jdbcTemplate.update("DELETE FROM candidate WHERE election_id = ?", election.getId());
+            jdbcTemplate.update("DELETE FROM election WHERE id = ?", election.getId());
+        }
+        deleteUsers();
+    }
+
+    @Test
+    void electionResults_AreStreamedToAuthenticatedAdmin() throws Exception {
+        // Arrange
+        MvcResult login = mockMvc.perform(post("/auth/admin/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequestDTO(ADMIN_EMAIL, PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode loginResponse = objectMapper.readTree(login.getResponse().getContentAsString());
+        String token = loginResponse.get("token").asText();
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/admin/elections/{electionId}/results", election.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].candidateName").value("Stream Candidate A"))
+                .andExpect(jsonPath("$[0].totalVotes").value(2))
+                .andExpect(jsonPath("$[1].candidateName").value("Stream Candidate B"))
+                .andExpect(jsonPath("$[1].totalVotes").value(1));
+    }
+
+    @Test
+    void electionResults_WithoutToken_AreForbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/admin/elections/{electionId}/results", election.getId()))
+                .andExpect(status().isForbidden());
+    }
+
+    private Candidate saveCandidate(String name) {
+        Candidate candidate = new Candidate();
+        candidate.setName(name);
+        candidate.setElection(election);
+        return candidateRepository.save(candidate);
+    }
+
+    private Voter saveUser(String email, Role role) {
+        Voter user = new Voter();
+        user.setEmail(email);
+        user.setPasswordHash(passwordEncoder.encode(PASSWORD));
+        user.setRole(role);
+        user.setName("Stream User");
+        user.setCity("Test City");
+        return voterRepository.save(user);
+    }
+
+    private void deleteUsers() {
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'stream-%@example.com'");
+    }
+}
@@ -0,0 +1,112 @@
+package com.sprints.onlineVotingSystem.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoteJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void append_CompletesAfterSyncAndHandsBallotToConsumer() throws Exception {
+        // Arrange
+        List<VoteJournal.Entry> durable = new CopyOnWriteArrayList<>();
+        VoteJournal journal = new VoteJournal(directory, 10, Long.MAX_VALUE);
+        journal.open();
+        journal.start(durable::addAll);
+
+        // Act
+        VoteJournal.Entry entry = journal.append(ballot("r-1", "voter@test.com")).get(5, TimeUnit.SECONDS);
+        journal.close();
+
+        // Assert
+        assertEquals("r-1", entry.getBallot().getReceiptId());
+        assertEquals(Files.size(directory.resolve("ballots.log")), entry.getEndOffset());
+        assertEquals(List.of(entry), durable);
+    }
+
+    @Test
+    void open_ReturnsOnlyBallotsAfterCheckpoint() throws Exception {
+        // Arrange
+        VoteJournal journal = new VoteJournal(directory, 10, Long.MAX_VALUE);
+        journal.open();
+        journal.start(entries -> { });
+        VoteJournal.Entry first = journal.append(ballot("r-1", "one@test.com")).get(5, TimeUnit.SECONDS);
+        journal.append(ballot("r-2", "two@test.com")).get(5, TimeUnit.SECONDS);
+        journal.checkpoint(first.getEndOffset());
+        journal.close();
+
+        // Act
+        VoteJournal reopened = new VoteJournal(directory, 10, Long.MAX_VALUE);
+        List<VoteJournal.Entry> replay = reopened.open();
+        reopened.close();
+
+        // Assert
+        assertEquals(1, replay.size());
+        assertEquals(ballot("r-2", "two@test.com"), replay.get(0).getBallot());
+    }
+
+    @Test
+    void open_TruncatesTornTail() throws Exception {
+        // Arrange
+        VoteJournal journal = new VoteJournal(directory, 10, Long.MAX_VALUE);
+        journal.open();
+        journal.start(entries -> { });
+        VoteJournal.Entry written = journal.append(ballot("r-1", "one@test.com")).get(5, TimeUnit.SECONDS);
+        journal.close();
+        Files.writeString(directory.resolve("ballots.log"), "r-2|1|1|17000", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // Act
+        VoteJournal reopened = new VoteJournal(directory, 10, Long.MAX_VALUE);
+        List<VoteJournal.Entry> replay = reopened.open();
+        reopened.close();
+
+        // Assert
+        assertEquals(1, replay.size());
+        assertEquals(written.getEndOffset(), Files.size(directory.resolve("ballots.log")));
+    }
+
+    @Test
+    void checkpoint_FullyDrainedLogPastThreshold_IsCompacted() throws Exception {
+        // Arrange
+        VoteJournal journal = new VoteJournal(directory, 10, 1);
+        journal.open();
+        journal.start(entries -> { });
+        VoteJournal.Entry entry = journal.append(ballot("r-1", "one@test.com")).get(5, TimeUnit.SECONDS);
+
+        // Act
+        journal.checkpoint(entry.getEndOffset());
+        VoteJournal.Entry next = journal.append(ballot("r-2", "two@test.com")).get(5, TimeUnit.SECONDS);
+        journal.close();
+
+        // Assert
+        assertEquals(Files.size(directory.resolve("ballots.log")), next.getEndOffset());
+        VoteJournal reopened = new VoteJournal(directory, 10, 1);
+        assertEquals("r-2", reopened.open().get(0).getBallot().getReceiptId());
+        reopened.close();
+    }
+
+    @Test
+    void decode_CorruptRecord_ReturnsNull() {
+        String line = new String(VoteJournal.encode(ballot("r-1", "a|b@test.com")), StandardCharsets.UTF_8).trim();
+
+        assertEquals(ballot("r-1", "a|b@test.com"), VoteJournal.decode(line));
+        assertNull(VoteJournal.decode(line.replace("r-1", "r-9")));
+    }
+
+    private static JournaledBallot ballot(String receiptId, String voterEmail) {
+        return new JournaledBallot(receiptId, 1L, 2L, voterEmail, 1_700_000_000_000L);
+    }
+}
@@ -0,0 +1,65 @@
+package com.sprints.onlineVotingSystem.migration;
+
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class V4NormalizeVoterCitiesTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrate_MapsSpellingVariantsToOneCityNamedAfterMostCommonSpelling() throws Exception {
+        // Arrange: voters registered before the city dimension existed
+        insertLegacyVoter("legacy1", "Alexandria");
+        insertLegacyVoter("legacy2", "Alexandria");
+        insertLegacyVoter("legacy3", " ALEXANDRIA ");
+        insertLegacyVoter("legacy4", "Alexandría");
+        insertLegacyVoter("legacy5", "Port Said");
+        insertLegacyVoter("legacy6", "   ");
+        Context context = mock(Context.class);
+        when(context.getConnection()).thenReturn(DataSourceUtils.getConnection(dataSource));
+
+        // Act
+        new V4__Normalize_voter_cities("en").migrate(context);
+
+        // Assert
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT u.email, u.city, u.city_id, c.name AS city_name FROM users u LEFT JOIN city c ON c.id = u.city_id " +
+                "WHERE u.email LIKE 'legacy%' ORDER BY u.email");
+        Object alexandriaId = rows.get(0).get("CITY_ID");
+        assertNotNull(alexandriaId);
+        for (Map<String, Object> row : rows.subList(0, 4)) {
+            assertEquals(alexandriaId, row.get("CITY_ID"));
+            assertEquals("Alexandria", row.get("CITY"));
+            assertEquals("Alexandria", row.get("CITY_NAME"));
+        }
+        assertNotEquals(alexandriaId, rows.get(4).get("CITY_ID"));
+        assertEquals("Port Said", rows.get(4).get("CITY_NAME"));
+        assertNull(rows.get(5).get("CITY_ID"));
+    }
+
+    private void insertLegacyVoter(String name, String city) {
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password_hash, role, city) " +
+                "VALUES (NEXT VALUE FOR users_seq, ?, ?, 'hash', 'VOTER', ?)", name, name + "@migration.test", city);
+    }
+}
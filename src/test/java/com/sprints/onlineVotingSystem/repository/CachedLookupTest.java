@@ -0,0 +1,81 @@
+package com.sprints.onlineVotingSystem.repository;
+
+import com.sprints.onlineVotingSystem.config.CacheConfig;
+import com.sprints.onlineVotingSystem.domain.Election;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CachedLookupTest {
+
+    @Autowired
+    private ElectionRepository electionRepository;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long electionId;
+    private Long candidateId;
+
+    @BeforeEach
+    void setUp() {
+        LocalDate today = LocalDate.now();
+        jdbcTemplate.update("INSERT INTO election (id, title, start_date, end_date) VALUES (NEXT VALUE FOR election_seq, ?, ?, ?)",
+                "Cached Election", today.minusDays(1), today.plusDays(1));
+        electionId = jdbcTemplate.queryForObject("SELECT id FROM election WHERE title = 'Cached Election'", Long.class);
+        jdbcTemplate.update("INSERT INTO candidate (id, name, election_id) VALUES (NEXT VALUE FOR candidate_seq, ?, ?)", "Cached Candidate", electionId);
+        candidateId = jdbcTemplate.queryForObject("SELECT id FROM candidate WHERE name = 'Cached Candidate'", Long.class);
+    }
+
+    @Test
+    void electionFindById_SecondLookupServedFromCache() {
+        Election first = electionRepository.findById(electionId).orElseThrow();
+        jdbcTemplate.update("UPDATE election SET title = 'Renamed' WHERE id = ?", electionId);
+
+        Election second = electionRepository.findById(electionId).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals("Cached Election", second.getTitle());
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", "elections").tag("result", "hit")
+                .functionCounter().count() >= 1);
+    }
+
+    @Test
+    void updateCandidateName_EvictsCachedCandidate() {
+        candidateRepository.findById(candidateId).orElseThrow();
+        assertNotNull(cacheManager.getCache(CacheConfig.CANDIDATES).get(candidateId));
+
+        candidateRepository.updateCandidateName(candidateId, "Renamed Candidate");
+
+        assertNull(cacheManager.getCache(CacheConfig.CANDIDATES).get(candidateId));
+    }
+
+    @Test
+    void findById_MissingId_IsNotCached() {
+        assertTrue(electionRepository.findById(-1L).isEmpty());
+
+        assertNull(cacheManager.getCache(CacheConfig.ELECTIONS).get(-1L));
+    }
+}
@@ -0,0 +1,77 @@
+package com.sprints.onlineVotingSystem.repository;
+
+import com.sprints.onlineVotingSystem.dto.CandidateDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class CandidateProjectionTest {
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long electionId;
+
+    @BeforeEach
+    void setUp() {
+        for (String title : List.of("Projection Election A", "Projection Election B")) {
+            jdbcTemplate.update("INSERT INTO election (id, title, start_date, end_date) VALUES (NEXT VALUE FOR election_seq, ?, ?, ?)",
+                    title, LocalDate.now(), LocalDate.now().plusDays(1));
+            Long id = jdbcTemplate.queryForObject("SELECT id FROM election WHERE title = ?", Long.class, title);
+            for (int i = 0; i < 3; i++) {
+                jdbcTemplate.update("INSERT INTO candidate (id, name, election_id) VALUES (NEXT VALUE FOR candidate_seq, ?, ?)",
+                        title + " Candidate " + i, id);
+            }
+            electionId = id;
+        }
+        entityManager.clear();
+    }
+
+    @Test
+    void findAllCandidateDTOs_RunsOneQueryWithoutLoadingEntities() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CandidateDTO> candidates = candidateRepository.findAllCandidateDTOs();
+
+        assertTrue(candidates.stream().anyMatch(c -> c.getName().equals("Projection Election A Candidate 0")
+                && c.getElectionName().equals("Projection Election A")
+                && c.getParty().equals(CandidateDTO.DEFAULT_PARTY)));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findCandidateDTOsByElectionId_ReturnsOnlyThatElection() {
+        List<CandidateDTO> candidates = candidateRepository.findCandidateDTOsByElectionId(electionId);
+
+        assertEquals(3, candidates.size());
+        assertTrue(candidates.stream().allMatch(c -> c.getElectionName().equals("Projection Election B")));
+        assertTrue(candidates.get(0).getId() < candidates.get(1).getId());
+    }
+}
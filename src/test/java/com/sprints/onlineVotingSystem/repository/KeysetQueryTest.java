@@ -0,0 +1,92 @@
+package com.sprints.onlineVotingSystem.repository;
+
+import com.sprints.onlineVotingSystem.domain.Candidate;
+import com.sprints.onlineVotingSystem.domain.City;
+import com.sprints.onlineVotingSystem.domain.Role;
+import com.sprints.onlineVotingSystem.domain.Voter;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class KeysetQueryTest {
+
+    @Autowired
+    private VoterRepository voterRepository;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findByCityIdAndIdGreaterThan_WalksCityInIdOrder() {
+        City keysetCity = cityRepository.save(new City(null, "Keyset City", "keyset city"));
+        City otherCity = cityRepository.save(new City(null, "Other Keyset City", "other keyset city"));
+        List<Long> ids = IntStream.range(0, 5)
+                .mapToObj(i -> voterRepository.save(voter("keyset" + i, keysetCity)).getId())
+                .toList();
+        voterRepository.save(voter("other", otherCity));
+
+        List<Long> walked = new ArrayList<>();
+        long after = 0;
+        List<Voter> page;
+        do {
+            page = voterRepository.findByCityIdAndIdGreaterThanOrderByIdAsc(keysetCity.getId(), after, Limit.of(2));
+            page.forEach(voter -> walked.add(voter.getId()));
+            after = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+        } while (page.size() == 2);
+
+        assertEquals(ids, walked);
+    }
+
+    @Test
+    void findAllWithElectionAfter_FetchesElectionWithEachPage() {
+        // other test classes may have committed candidates to the shared database
+        Long start = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM candidate", Long.class);
+        jdbcTemplate.update("INSERT INTO election (id, title, start_date, end_date) VALUES (NEXT VALUE FOR election_seq, ?, ?, ?)",
+                "Keyset Election", LocalDate.now(), LocalDate.now().plusDays(1));
+        Long electionId = jdbcTemplate.queryForObject("SELECT id FROM election WHERE title = 'Keyset Election'", Long.class);
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("INSERT INTO candidate (id, name, election_id) VALUES (NEXT VALUE FOR candidate_seq, ?, ?)",
+                    "Keyset Candidate " + i, electionId);
+        }
+
+        List<Candidate> first = candidateRepository.findAllWithElectionAfter(start, Limit.of(2));
+        List<Candidate> rest = candidateRepository.findAllWithElectionAfter(first.get(1).getId(), Limit.of(2));
+
+        assertEquals(2, first.size());
+        assertEquals(1, rest.size());
+        assertTrue(first.get(0).getId() < first.get(1).getId());
+        assertTrue(first.stream().allMatch(candidate -> Hibernate.isInitialized(candidate.getElection())));
+    }
+
+    private Voter voter(String name, City city) {
+        Voter voter = Voter.builder()
+                .name(name)
+                .email(name + "@keyset.test")
+                .passwordHash("hash")
+                .role(Role.VOTER)
+                .build();
+        voter.assignCity(city);
+        return voter;
+    }
+}
@@ -0,0 +1,162 @@
+package com.sprints.onlineVotingSystem.repository;
+
+import com.sprints.onlineVotingSystem.domain.City;
+import com.sprints.onlineVotingSystem.domain.Election;
+import com.sprints.onlineVotingSystem.domain.Voter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every selective repository query against a seeded database and fails if the H2 plan of any
+ * statement it issues falls back to a full table scan, i.e. if an index the query relies on is lost.
+ * <p>
+ * Whole-table queries are deliberately not covered: findAll, findAllCandidateDTOs,
+ * the all-election tallies (getCandidateVoteCounts, getVoteCountsPerCandidate), the turnout recounts
+ * (getVoteCountsPerElectionAndCity, countEligibleVotersPerCity) and the substring name
+ * search findByCandidateNameContaining, which cannot use a B-tree index.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.sprints.onlineVotingSystem.repository.RecordingStatementInspector")
+@ActiveProfiles("test")
+@Transactional
+class QueryPlanRegressionTest {
+
+    private static final int VOTERS = 400;
+    private static final int ELECTIONS = 4;
+    private static final int CANDIDATES_PER_ELECTION = 5;
+    private static final int CITIES = 20;
+
+    @Autowired
+    private VoterRepository voterRepository;
+
+    @Autowired
+    private ElectionRepository electionRepository;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long electionId;
+    private Long candidateId;
+    private Long voterId;
+    private Integer cityId;
+    private City city;
+    private Voter voter;
+    private Election election;
+
+    @BeforeEach
+    void seed() {
+        LocalDate today = LocalDate.now();
+        for (int e = 0; e < ELECTIONS; e++) {
+            jdbcTemplate.update("INSERT INTO election (id, title, start_date, end_date) VALUES (NEXT VALUE FOR election_seq, ?, ?, ?)",
+                    "Plan Election " + e, today.minusDays(1), today.plusDays(1));
+        }
+        List<Long> electionIds = jdbcTemplate.queryForList("SELECT id FROM election WHERE title LIKE 'Plan Election %' ORDER BY id", Long.class);
+        for (Long id : electionIds) {
+            for (int c = 0; c < CANDIDATES_PER_ELECTION; c++) {
+                jdbcTemplate.update("INSERT INTO candidate (id, name, election_id) VALUES (NEXT VALUE FOR candidate_seq, ?, ?)",
+                        "Plan Candidate " + id + "-" + c, id);
+            }
+        }
+        for (int c = 0; c < CITIES; c++) {
+            jdbcTemplate.update("INSERT INTO city (id, name, normalized_name) VALUES (NEXT VALUE FOR city_seq, ?, ?)",
+                    "Plan City " + c, "plan city " + c);
+        }
+        List<Integer> cityIds = jdbcTemplate.queryForList("SELECT id FROM city WHERE name LIKE 'Plan City %' ORDER BY id", Integer.class);
+        List<Object[]> voters = new ArrayList<>();
+        for (int v = 0; v < VOTERS; v++) {
+            int city = v % CITIES;
+            voters.add(new Object[]{"Plan Voter " + v, "plan" + v + "@test.com", "Plan City " + city, cityIds.get(city)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email, password_hash, role, city, city_id) VALUES (NEXT VALUE FOR users_seq, ?, ?, 'hash', 'VOTER', ?, ?)", voters);
+        // every voter votes once in every election, spread evenly over the candidates
+        jdbcTemplate.update("INSERT INTO vote (id, vote_time, candidate_id, election_id, voter_id) " +
+                "SELECT NEXT VALUE FOR vote_seq, CURRENT_TIMESTAMP, c.id, c.election_id, u.id " +
+                "FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS rn FROM users WHERE email LIKE 'plan%') u " +
+                "JOIN (SELECT id, election_id, ROW_NUMBER() OVER (PARTITION BY election_id ORDER BY id) AS rn " +
+                "      FROM candidate WHERE name LIKE 'Plan Candidate %') c " +
+                "ON MOD(u.rn, " + CANDIDATES_PER_ELECTION + ") + 1 = c.rn");
+        jdbcTemplate.execute("ANALYZE");
+
+        electionId = electionIds.get(0);
+        cityId = cityIds.get(3);
+        city = cityRepository.findById(cityId).orElseThrow();
+        candidateId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM candidate WHERE election_id = ?", Long.class, electionId);
+        voterId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'plan7@test.com'", Long.class);
+        voter = voterRepository.findById(voterId).orElseThrow();
+        election = electionRepository.findById(electionId).orElseThrow();
+    }
+
+    @Test
+    void selectiveRepositoryQueries_UseIndexes() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("VoterRepository.findByEmail", () -> voterRepository.findByEmail("plan3@test.com"));
+        queries.put("VoterRepository.existsByEmail", () -> voterRepository.existsByEmail("plan3@test.com"));
+        queries.put("VoterRepository.findExistingEmails", () -> voterRepository.findExistingEmails(Set.of("plan1@test.com", "plan2@test.com")));
+        queries.put("VoterRepository.countByCityId", () -> voterRepository.countByCityId(cityId));
+        queries.put("VoterRepository.findByCityIdAndIdGreaterThanOrderByIdAsc", () -> voterRepository.findByCityIdAndIdGreaterThanOrderByIdAsc(cityId, 0L, Limit.of(10)));
+        queries.put("VoterRepository.findIdsByCityIdAfter", () -> voterRepository.findIdsByCityIdAfter(cityId, 0L, Limit.of(10)));
+        queries.put("VoterRepository.findCityIdByEmail", () -> voterRepository.findCityIdByEmail("plan3@test.com"));
+        queries.put("VoterRepository.findCityIdsByEmails", () -> voterRepository.findCityIdsByEmails(Set.of("plan1@test.com", "plan2@test.com")));
+        queries.put("VoterRepository.findEligibleVotersByCity", () -> voterRepository.findEligibleVotersByCity(cityId));
+        queries.put("VoterRepository.updateVoterCity", () -> voterRepository.updateVoterCity(voterId, city));
+        queries.put("VoterRepository.updateCityForIds", () -> voterRepository.updateCityForIds(List.of(voterId), city));
+        queries.put("CityRepository.findByNormalizedName", () -> cityRepository.findByNormalizedName("plan city 3"));
+        queries.put("VoterRepository.updatePasswordHash", () -> voterRepository.updatePasswordHash(voterId, "hash2"));
+        queries.put("VoterRepository.deleteByEmail", () -> voterRepository.deleteByEmail("nobody@test.com"));
+        queries.put("ElectionRepository.findByIdGreaterThanOrderByIdAsc", () -> electionRepository.findByIdGreaterThanOrderByIdAsc(electionId, Limit.of(2)));
+        queries.put("CandidateRepository.findByElectionId", () -> candidateRepository.findByElectionId(electionId));
+        queries.put("CandidateRepository.findCandidateDTOsByElectionId", () -> candidateRepository.findCandidateDTOsByElectionId(electionId));
+        queries.put("CandidateRepository.findAllWithElectionAfter", () -> candidateRepository.findAllWithElectionAfter(candidateId, Limit.of(5)));
+        queries.put("CandidateRepository.updateCandidateName", () -> candidateRepository.updateCandidateName(candidateId, "Renamed"));
+        queries.put("VoteRepository.existsByVoterAndElection", () -> voteRepository.existsByVoterAndElection(voter, election));
+        queries.put("VoteRepository.existsByReceiptId", () -> voteRepository.existsByReceiptId("receipt"));
+        queries.put("VoteRepository.streamCandidateVoteCountsByElection", () -> {
+            try (var results = voteRepository.streamCandidateVoteCountsByElection(electionId)) {
+                results.forEach(result -> { });
+            }
+        });
+        queries.put("VoteRepository.insertVoteWithReceiptIfEligible", () -> voteRepository.insertVoteWithReceiptIfEligible(
+                "receipt", "plan9@test.com", electionId, candidateId, LocalDate.now(), LocalDateTime.now()));
+        queries.put("CandidateRepository.deleteByElectionId", () -> candidateRepository.deleteByElectionId(-1L));
+
+        List<String> scans = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            RecordingStatementInspector.clear();
+            query.run();
+            for (String sql : RecordingStatementInspector.statements()) {
+                String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+                if (plan.toLowerCase(Locale.ROOT).contains(".tablescan")) {
+                    scans.add(name + ":\n" + sql + "\n" + plan);
+                }
+            }
+        });
+
+        assertTrue(scans.isEmpty(), "Repository queries fell back to a full table scan:\n" + String.join("\n\n", scans));
+    }
+}
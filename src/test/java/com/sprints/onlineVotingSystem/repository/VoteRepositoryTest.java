@@ -0,0 +1,187 @@
+package com.sprints.onlineVotingSystem.repository;
+
+import com.sprints.onlineVotingSystem.domain.Candidate;
+import com.sprints.onlineVotingSystem.domain.Election;
+import com.sprints.onlineVotingSystem.domain.Vote;
+import com.sprints.onlineVotingSystem.domain.Voter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.sprints.onlineVotingSystem.dto.CandidateResultDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class VoteRepositoryTest {
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long activeElectionId;
+    private Long closedElectionId;
+    private Long activeCandidateId;
+    private Long closedCandidateId;
+    private Integer cityId;
+
+    @BeforeEach
+    void setUp() {
+        // Seeded with plain SQL because the entities reject elections that already started
+        LocalDate today = LocalDate.now();
+        activeElectionId = insertElection("Active Election", today.minusDays(1), today.plusDays(1));
+        closedElectionId = insertElection("Closed Election", today.minusDays(5), today.minusDays(1));
+        activeCandidateId = insertCandidate("Active Candidate", activeElectionId);
+        closedCandidateId = insertCandidate("Closed Candidate", closedElectionId);
+        jdbcTemplate.update("INSERT INTO city (id, name, normalized_name) VALUES (NEXT VALUE FOR city_seq, 'Test City', 'vote repository test city')");
+        cityId = jdbcTemplate.queryForObject("SELECT id FROM city WHERE normalized_name = 'vote repository test city'", Integer.class);
+        insertVoter("assigned@test.com", "Test City", cityId);
+        // a legacy voter whose blank city V4 left without a city ID
+        insertVoter("unassigned@test.com", " ", null);
+    }
+
+    @Test
+    void insertVoteIfEligible_EligibleVoter_InsertsOnce() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(1, voteRepository.insertVoteIfEligible("assigned@test.com", activeElectionId, activeCandidateId, now.toLocalDate(), now));
+        assertEquals(0, voteRepository.insertVoteIfEligible("assigned@test.com", activeElectionId, activeCandidateId, now.toLocalDate(), now));
+        assertEquals(1, voteRepository.count());
+    }
+
+    @Test
+    void insertVoteIfEligible_IneligibleBallots_InsertNothing() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(0, voteRepository.insertVoteIfEligible("unknown@test.com", activeElectionId, activeCandidateId, now.toLocalDate(), now));
+        assertEquals(0, voteRepository.insertVoteIfEligible("unassigned@test.com", activeElectionId, activeCandidateId, now.toLocalDate(), now));
+        assertEquals(0, voteRepository.insertVoteIfEligible("assigned@test.com", closedElectionId, closedCandidateId, now.toLocalDate(), now));
+        assertEquals(0, voteRepository.insertVoteIfEligible("assigned@test.com", activeElectionId, closedCandidateId, now.toLocalDate(), now));
+        assertEquals(0, voteRepository.count());
+    }
+
+    @Test
+    void findById_LeavesAssociationsUnloaded() {
+        LocalDateTime now = LocalDateTime.now();
+        voteRepository.insertVoteIfEligible("assigned@test.com", activeElectionId, activeCandidateId, now.toLocalDate(), now);
+        Long voteId = jdbcTemplate.queryForObject("SELECT id FROM vote", Long.class);
+        entityManager.clear();
+
+        Vote vote = voteRepository.findById(voteId).orElseThrow();
+
+        assertFalse(Hibernate.isInitialized(vote.getVoter()));
+        assertFalse(Hibernate.isInitialized(vote.getCandidate()));
+        assertFalse(Hibernate.isInitialized(vote.getElection()));
+        assertEquals(activeElectionId, vote.getElection().getId());
+    }
+
+    @Test
+    void toStringAndHashCode_LeaveAssociationsUnloaded() {
+        LocalDateTime now = LocalDateTime.now();
+        voteRepository.insertVoteIfEligible("assigned@test.com", activeElectionId, activeCandidateId, now.toLocalDate(), now);
+        Long voteId = jdbcTemplate.queryForObject("SELECT id FROM vote", Long.class);
+        entityManager.clear();
+
+        Vote vote = voteRepository.findById(voteId).orElseThrow();
+        String text = vote.toString();
+        Set<Vote> seen = new HashSet<>(List.of(vote));
+
+        assertTrue(text.contains(voteId.toString()));
+        assertTrue(seen.contains(vote));
+        assertEquals(vote, voteRepository.findById(voteId).orElseThrow());
+        assertFalse(Hibernate.isInitialized(vote.getVoter()));
+        assertFalse(Hibernate.isInitialized(vote.getCandidate()));
+        assertFalse(Hibernate.isInitialized(vote.getElection()));
+    }
+
+    @Test
+    void save_KeepsGivenVoteTimeAndDefaultsMissingOne() {
+        Voter voter = entityManager.getReference(Voter.class,
+                jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'assigned@test.com'", Long.class));
+        LocalDateTime clockTime = LocalDateTime.of(2024, 3, 1, 9, 30);
+        Vote timed = voteRepository.save(Vote.builder()
+                .voter(voter)
+                .candidate(entityManager.getReference(Candidate.class, activeCandidateId))
+                .election(entityManager.getReference(Election.class, activeElectionId))
+                .voteTime(clockTime)
+                .build());
+        Vote untimed = voteRepository.save(Vote.builder()
+                .voter(voter)
+                .candidate(entityManager.getReference(Candidate.class, closedCandidateId))
+                .election(entityManager.getReference(Election.class, closedElectionId))
+                .build());
+        entityManager.flush();
+
+        assertEquals(clockTime, jdbcTemplate.queryForObject("SELECT vote_time FROM vote WHERE id = ?", LocalDateTime.class, timed.getId()));
+        assertNotNull(jdbcTemplate.queryForObject("SELECT vote_time FROM vote WHERE id = ?", LocalDateTime.class, untimed.getId()));
+    }
+
+    private Long insertElection(String title, LocalDate startDate, LocalDate endDate) {
+        jdbcTemplate.update("INSERT INTO election (id, title, start_date, end_date) VALUES (NEXT VALUE FOR election_seq, ?, ?, ?)", title, startDate, endDate);
+        return jdbcTemplate.queryForObject("SELECT id FROM election WHERE title = ?", Long.class, title);
+    }
+
+    private Long insertCandidate(String name, Long electionId) {
+        jdbcTemplate.update("INSERT INTO candidate (id, name, election_id) VALUES (NEXT VALUE FOR candidate_seq, ?, ?)", name, electionId);
+        return jdbcTemplate.queryForObject("SELECT id FROM candidate WHERE name = ?", Long.class, name);
+    }
+
+    @Test
+    void voteTable_RejectsSecondVoteInSameElection() {
+        Long voterId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'assigned@test.com'", Long.class);
+        String insert = "INSERT INTO vote (id, vote_time, candidate_id, election_id, voter_id) VALUES (NEXT VALUE FOR vote_seq, CURRENT_TIMESTAMP, ?, ?, ?)";
+        jdbcTemplate.update(insert, activeCandidateId, activeElectionId, voterId);
+
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update(insert, activeCandidateId, activeElectionId, voterId));
+        assertTrue(ex.getMessage().toUpperCase().contains("UK_VOTE_VOTER_ELECTION"));
+    }
+
+    @Test
+    void streamCandidateVoteCountsByElection_OnlyCountsThatElection() {
+        Long secondCandidateId = insertCandidate("Second Candidate", activeElectionId);
+        insertVoter("second@test.com", "Test City", cityId);
+        insertVoter("third@test.com", "Test City", cityId);
+        insertVote("assigned@test.com", activeCandidateId, activeElectionId);
+        insertVote("second@test.com", secondCandidateId, activeElectionId);
+        insertVote("third@test.com", secondCandidateId, activeElectionId);
+        insertVote("third@test.com", closedCandidateId, closedElectionId);
+
+        List<CandidateResultDTO> results;
+        try (Stream<CandidateResultDTO> stream = voteRepository.streamCandidateVoteCountsByElection(activeElectionId)) {
+            results = stream.toList();
+        }
+
+        assertEquals(List.of(new CandidateResultDTO("Second Candidate", 2L), new CandidateResultDTO("Active Candidate", 1L)), results);
+    }
+
+    private void insertVote(String voterEmail, Long candidateId, Long electionId) {
+        jdbcTemplate.update("INSERT INTO vote (id, vote_time, candidate_id, election_id, voter_id) " +
+                "SELECT NEXT VALUE FOR vote_seq, CURRENT_TIMESTAMP, ?, ?, id FROM users WHERE email = ?", candidateId, electionId, voterEmail);
+    }
+
+    private void insertVoter(String email, String city, Integer cityId) {
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password_hash, role, city, city_id) VALUES (NEXT VALUE FOR users_seq, ?, ?, ?, 'VOTER', ?, ?)",
+                "Test Voter", email, "hash", city, cityId);
+    }
+}
@@ -0,0 +1,57 @@
+package com.sprints.onlineVotingSystem.repository;
+
+import com.sprints.onlineVotingSystem.domain.Role;
+import com.sprints.onlineVotingSystem.domain.Voter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class VoterRepositoryBatchInsertTest {
+
+    @Autowired
+    private VoterRepository voterRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveAll_GroupsInsertsIntoJdbcBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Voter> voters = IntStream.range(0, 120)
+                .mapToObj(i -> Voter.builder()
+                        .name("Batch Voter " + i)
+                        .email("batch" + i + "@test.com")
+                        .passwordHash("hash")
+                        .role(Role.VOTER)
+                        .city("Test City")
+                        .build())
+                .toList();
+        statistics.clear();
+
+        voterRepository.saveAll(voters);
+        entityManager.flush();
+
+        assertEquals(120, statistics.getEntityInsertCount());
+        // 3 insert batches of up to 50 rows plus one sequence call per block of 50 IDs
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "expected batched inserts but got " + statistics.getPrepareStatementCount() + " statements");
+        assertTrue(voters.stream().allMatch(voter -> voter.getId() != null));
+    }
+}
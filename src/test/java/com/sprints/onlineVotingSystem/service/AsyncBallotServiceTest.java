@@ -0,0 +1,227 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.sprints.onlineVotingSystem.domain.BallotStatus;
+import com.sprints.onlineVotingSystem.domain.Candidate;
+import com.sprints.onlineVotingSystem.domain.Election;
+import com.sprints.onlineVotingSystem.dto.BallotReceiptDTO;
+import com.sprints.onlineVotingSystem.dto.VoteRequestDTO;
+import com.sprints.onlineVotingSystem.dto.VoterCityDTO;
+import com.sprints.onlineVotingSystem.event.VoteCastEvent;
+import com.sprints.onlineVotingSystem.exception.BadRequestException;
+import com.sprints.onlineVotingSystem.exception.ResourceNotFoundException;
+import com.sprints.onlineVotingSystem.exception.VotingClosedException;
+import com.sprints.onlineVotingSystem.journal.JournaledBallot;
+import com.sprints.onlineVotingSystem.journal.VoteJournal;
+import com.sprints.onlineVotingSystem.repository.CandidateRepository;
+import com.sprints.onlineVotingSystem.repository.ElectionRepository;
+import com.sprints.onlineVotingSystem.repository.VoteRepository;
+import com.sprints.onlineVotingSystem.repository.VoterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AsyncBallotServiceTest {
+
+    @TempDir
+    Path journalDir;
+
+    @Mock
+    private VoteRepository voteRepository;
+
+    @Mock
+    private VoterRepository voterRepository;
+
+    @Mock
+    private ElectionRepository electionRepository;
+
+    @Mock
+    private CandidateRepository candidateRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private AsyncBallotService asyncBallotService;
+    private Election election;
+
+    @BeforeEach
+    void setUp() {
+        election = new Election(1L, "Test Election", LocalDate.now().minusDays(1), LocalDate.now().plusDays(1));
+        when(electionRepository.findById(1L)).thenReturn(Optional.of(election));
+        when(candidateRepository.findById(2L)).thenReturn(Optional.of(new Candidate(2L, "Candidate A", election)));
+        asyncBallotService = newService();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        asyncBallotService.stop();
+    }
+
+    @Test
+    void submit_ValidBallot_ReturnsPendingReceiptThenCommits() throws Exception {
+        // Arrange
+        when(voteRepository.insertVoteWithReceiptIfEligible(any(), eq("voter@test.com"), eq(1L), eq(2L), any(), any())).thenReturn(1);
+        when(voterRepository.findCityIdsByEmails(Set.of("voter@test.com"))).thenReturn(List.of(new VoterCityDTO("voter@test.com", 10)));
+        asyncBallotService.start();
+
+        // Act
+        BallotReceiptDTO receipt = asyncBallotService.submit(new VoteRequestDTO(2L, 1L), "voter@test.com");
+
+        // Assert
+        assertEquals(BallotStatus.PENDING, receipt.getStatus());
+        assertEquals(BallotStatus.COMMITTED, awaitOutcome(receipt.getReceiptId()));
+        verify(eventPublisher).publishEvent(argThat((VoteCastEvent event) -> Integer.valueOf(10).equals(event.getVoterCityId())));
+    }
+
+    @Test
+    void submit_SecondBallotWhilePending_ThrowsBadRequest() throws Exception {
+        // Arrange
+        when(voteRepository.insertVoteWithReceiptIfEligible(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new org.springframework.dao.QueryTimeoutException("Database unavailable"));
+        asyncBallotService.start();
+        asyncBallotService.submit(new VoteRequestDTO(2L, 1L), "voter@test.com");
+
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> asyncBallotService.submit(new VoteRequestDTO(2L, 1L), "VOTER@test.com"));
+    }
+
+    @Test
+    void submit_ClosedElection_ThrowsBeforeJournaling() throws Exception {
+        // Arrange
+        election.setEndDate(LocalDate.now().minusDays(1));
+        asyncBallotService.start();
+
+        // Act & Assert
+        assertThrows(VotingClosedException.class,
+                () -> asyncBallotService.submit(new VoteRequestDTO(2L, 1L), "voter@test.com"));
+        verifyNoInteractions(voteRepository);
+    }
+
+    @Test
+    void submit_IneligibleVoter_ReceiptIsRejected() throws Exception {
+        // Arrange
+        when(voteRepository.insertVoteWithReceiptIfEligible(any(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(voteRepository.existsByReceiptId(any())).thenReturn(false);
+        asyncBallotService.start();
+
+        // Act
+        BallotReceiptDTO receipt = asyncBallotService.submit(new VoteRequestDTO(2L, 1L), "unassigned@test.com");
+
+        // Assert
+        assertEquals(BallotStatus.REJECTED, awaitOutcome(receipt.getReceiptId()));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void start_ReplaysBallotsLeftInJournal() throws Exception {
+        // Arrange
+        VoteJournal journal = new VoteJournal(journalDir, 10, Long.MAX_VALUE);
+        journal.open();
+        journal.start(entries -> { });
+        journal.append(new JournaledBallot("receipt-1", 1L, 2L, "voter@test.com", System.currentTimeMillis()))
+                .get(5, TimeUnit.SECONDS);
+        journal.close();
+        when(voteRepository.insertVoteWithReceiptIfEligible(eq("receipt-1"), any(), any(), any(), any(), any())).thenReturn(1);
+
+        // Act
+        asyncBallotService.start();
+
+        // Assert
+        assertEquals(BallotStatus.COMMITTED, awaitOutcome("receipt-1"));
+    }
+
+    @Test
+    void getReceipt_PendingPastRetention_StaysPending() throws Exception {
+        // Arrange
+        when(voteRepository.insertVoteWithReceiptIfEligible(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new org.springframework.dao.QueryTimeoutException("Database unavailable"));
+        asyncBallotService.stop();
+        asyncBallotService = new AsyncBallotService(new VoteJournal(journalDir, 50, Long.MAX_VALUE), voteRepository, voterRepository,
+                electionRepository, candidateRepository, new VotingWindowEvaluator(Clock.systemDefaultZone()),
+                new TransactionTemplate(new NoOpTransactionManager()), eventPublisher, Clock.systemDefaultZone(),
+                50, 1000, 5000, Duration.ofMillis(1));
+        asyncBallotService.start();
+        BallotReceiptDTO receipt = asyncBallotService.submit(new VoteRequestDTO(2L, 1L), "voter@test.com");
+
+        // Act
+        Thread.sleep(50);
+        BallotReceiptDTO pending = asyncBallotService.getReceipt(receipt.getReceiptId());
+
+        // Assert
+        assertEquals(BallotStatus.PENDING, pending.getStatus());
+        verify(voteRepository, never()).existsByReceiptId(any());
+    }
+
+    @Test
+    void getReceipt_UnknownReceipt_ThrowsResourceNotFound() {
+        when(voteRepository.existsByReceiptId("missing")).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> asyncBallotService.getReceipt("missing"));
+    }
+
+    private AsyncBallotService newService() {
+        return new AsyncBallotService(new VoteJournal(journalDir, 50, Long.MAX_VALUE), voteRepository, voterRepository,
+                electionRepository, candidateRepository, new VotingWindowEvaluator(Clock.systemDefaultZone()),
+                new TransactionTemplate(new NoOpTransactionManager()), eventPublisher, Clock.systemDefaultZone(),
+                50, 1000, 5000, Duration.ofMinutes(5));
+    }
+
+    private BallotStatus awaitOutcome(String receiptId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        BallotStatus status = asyncBallotService.getReceipt(receiptId).getStatus();
+        while (status == BallotStatus.PENDING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = asyncBallotService.getReceipt(receiptId).getStatus();
+        }
+        return status;
+    }
+
+    /**
+     * Runs transaction callbacks without a real resource
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
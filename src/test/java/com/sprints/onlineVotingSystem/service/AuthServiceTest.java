@@ -5,13 +5,16 @@ import com.sprints.onlineVotingSystem.domain.Voter;
 import com.sprints.onlineVotingSystem.dto.LoginRequestDTO;
 import com.sprints.onlineVotingSystem.dto.LoginResponseDTO;
 import com.sprints.onlineVotingSystem.exception.BadRequestException;
+import com.sprints.onlineVotingSystem.exception.TooManyRequestsException;
 import com.sprints.onlineVotingSystem.repository.VoterRepository;
 import com.sprints.onlineVotingSystem.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -32,6 +35,12 @@ class AuthServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private AuthService authService;
 
@@ -71,6 +80,7 @@ class AuthServiceTest {
         verify(voterRepository).findByEmail(validLoginRequest.getEmail());
         verify(passwordEncoder).matches(validLoginRequest.getPassword(), validVoter.getPasswordHash());
         verify(jwtUtil).generateToken(validVoter.getEmail(), validVoter.getRole().name());
+        assertEquals(1, meterRegistry.get("auth.login").tag("role", "voter").tag("outcome", "success").timer().count());
     }
 
     @Test
@@ -127,6 +137,7 @@ class AuthServiceTest {
         verify(voterRepository).findByEmail(validLoginRequest.getEmail());
         verify(passwordEncoder).matches(validLoginRequest.getPassword(), validVoter.getPasswordHash());
         verify(jwtUtil, never()).generateToken(any(), any());
+        assertEquals(1, meterRegistry.get("auth.login").tag("role", "voter").tag("outcome", "BadRequestException").timer().count());
     }
 
     @Test
@@ -153,4 +164,66 @@ class AuthServiceTest {
         verify(passwordEncoder).matches(validLoginRequest.getPassword(), adminVoter.getPasswordHash());
         verify(jwtUtil, never()).generateToken(any(), any());
     }
+
+    @Test
+    void authenticateVoter_WeakHash_UpgradesPasswordHash() {
+        // Arrange
+        when(voterRepository.findByEmail(validLoginRequest.getEmail())).thenReturn(Optional.of(validVoter));
+        when(passwordEncoder.matches(validLoginRequest.getPassword(), "hashedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("hashedPassword")).thenReturn(true);
+        when(passwordEncoder.encode(validLoginRequest.getPassword())).thenReturn("strongerHash");
+        when(jwtUtil.generateToken(validVoter.getEmail(), validVoter.getRole().name())).thenReturn("jwt.token.here");
+
+        // Act
+        LoginResponseDTO response = authService.authenticateVoter(validLoginRequest);
+
+        // Assert
+        assertEquals("jwt.token.here", response.getToken());
+        verify(voterRepository).updatePasswordHash(1L, "strongerHash");
+        assertEquals("strongerHash", validVoter.getPasswordHash());
+    }
+
+    @Test
+    void authenticateVoter_UpgradeFails_StillLogsIn() {
+        // Arrange
+        when(voterRepository.findByEmail(validLoginRequest.getEmail())).thenReturn(Optional.of(validVoter));
+        when(passwordEncoder.matches(validLoginRequest.getPassword(), "hashedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("hashedPassword")).thenReturn(true);
+        when(passwordEncoder.encode(validLoginRequest.getPassword())).thenReturn("strongerHash");
+        when(voterRepository.updatePasswordHash(1L, "strongerHash")).thenThrow(new RuntimeException("Database error"));
+        when(jwtUtil.generateToken(validVoter.getEmail(), validVoter.getRole().name())).thenReturn("jwt.token.here");
+
+        // Act
+        LoginResponseDTO response = authService.authenticateVoter(validLoginRequest);
+
+        // Assert
+        assertEquals("jwt.token.here", response.getToken());
+        assertEquals("hashedPassword", validVoter.getPasswordHash());
+    }
+
+    @Test
+    void authenticateVoter_Throttled_SkipsLookupAndHashing() {
+        // Arrange
+        doThrow(new TooManyRequestsException("Too many failed login attempts, please try again later", 30))
+                .when(loginAttemptService).checkAllowed(validLoginRequest.getEmail(), "10.0.0.1");
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class,
+                () -> authService.authenticateVoter(validLoginRequest, "10.0.0.1"));
+        verify(voterRepository, never()).findByEmail(any());
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    @Test
+    void authenticateVoter_InvalidPassword_RecordsFailure() {
+        // Arrange
+        when(voterRepository.findByEmail(validLoginRequest.getEmail())).thenReturn(Optional.of(validVoter));
+        when(passwordEncoder.matches(validLoginRequest.getPassword(), validVoter.getPasswordHash())).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> authService.authenticateVoter(validLoginRequest, "10.0.0.1"));
+        verify(loginAttemptService).recordFailure(validLoginRequest.getEmail(), "10.0.0.1");
+        verify(loginAttemptService, never()).recordSuccess(any());
+    }
 }
@@ -3,7 +3,9 @@ package com.sprints.onlineVotingSystem.service;
 import com.sprints.onlineVotingSystem.domain.Candidate;
 import com.sprints.onlineVotingSystem.domain.Election;
 import com.sprints.onlineVotingSystem.dto.CandidateDTO;
+import com.sprints.onlineVotingSystem.exception.ResourceNotFoundException;
 import com.sprints.onlineVotingSystem.repository.CandidateRepository;
+import com.sprints.onlineVotingSystem.repository.ElectionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +27,9 @@ class CandidateServiceTest {
     @Mock
     private CandidateRepository candidateRepository;
 
+    @Mock
+    private ElectionRepository electionRepository;
+
     @InjectMocks
     private CandidateService candidateService;
 
@@ -44,7 +50,10 @@ class CandidateServiceTest {
     @Test
     void getAllCandidates_Success() {
         // Arrange
-        when(candidateRepository.findAllWithElection()).thenReturn(mockCandidates);
+        List<CandidateDTO> projected = mockCandidates.stream()
+                .map(c -> new CandidateDTO(c.getId(), c.getName(), c.getElection().getTitle()))
+                .toList();
+        when(candidateRepository.findAllCandidateDTOs()).thenReturn(projected);
 
         // Act
         List<CandidateDTO> result = candidateService.getAllCandidates();
@@ -67,13 +76,14 @@ class CandidateServiceTest {
         assertEquals("Independent", secondCandidate.getParty());
         assertEquals("Presidential Election 2024", secondCandidate.getElectionName());
         
-        verify(candidateRepository).findAllWithElection();
+        verify(candidateRepository).findAllCandidateDTOs();
+        verify(candidateRepository, never()).findAll();
     }
 
     @Test
     void getAllCandidates_EmptyList() {
         // Arrange
-        when(candidateRepository.findAllWithElection()).thenReturn(Arrays.asList());
+        when(candidateRepository.findAllCandidateDTOs()).thenReturn(Arrays.asList());
 
         // Act
         List<CandidateDTO> result = candidateService.getAllCandidates();
@@ -81,42 +91,44 @@ class CandidateServiceTest {
         // Assert
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(candidateRepository).findAllWithElection();
+        verify(candidateRepository).findAllCandidateDTOs();
     }
 
     @Test
-    void getAllCandidates_CandidateWithoutElection() {
+    void getCandidatesByElection_Success() {
         // Arrange
-        Candidate candidateWithoutElection = new Candidate(4L, "Candidate D", null);
-        
-        when(candidateRepository.findAllWithElection()).thenReturn(Arrays.asList(candidateWithoutElection));
+        List<CandidateDTO> projected = List.of(new CandidateDTO(1L, "Candidate A", "Presidential Election 2024"));
+        when(electionRepository.findById(1L)).thenReturn(Optional.of(mockElection));
+        when(candidateRepository.findCandidateDTOsByElectionId(1L)).thenReturn(projected);
 
         // Act
-        List<CandidateDTO> result = candidateService.getAllCandidates();
+        List<CandidateDTO> result = candidateService.getCandidatesByElection(1L);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        
-        CandidateDTO candidateDTO = result.get(0);
-        assertEquals(4L, candidateDTO.getId());
-        assertEquals("Candidate D", candidateDTO.getName());
-        assertEquals("Independent", candidateDTO.getParty());
-        assertEquals("Unknown Election", candidateDTO.getElectionName());
-        
-        verify(candidateRepository).findAllWithElection();
+        assertEquals(projected, result);
+        verify(candidateRepository).findCandidateDTOsByElectionId(1L);
+    }
+
+    @Test
+    void getCandidatesByElection_UnknownElection_ThrowsResourceNotFoundException() {
+        // Arrange
+        when(electionRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> candidateService.getCandidatesByElection(99L));
+        verifyNoInteractions(candidateRepository);
     }
 
     @Test
     void getAllCandidates_RepositoryThrowsException() {
         // Arrange
-        when(candidateRepository.findAllWithElection()).thenThrow(new RuntimeException("Database error"));
+        when(candidateRepository.findAllCandidateDTOs()).thenThrow(new RuntimeException("Database error"));
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
             candidateService.getAllCandidates();
         });
         
-        verify(candidateRepository).findAllWithElection();
+        verify(candidateRepository).findAllCandidateDTOs();
     }
 }
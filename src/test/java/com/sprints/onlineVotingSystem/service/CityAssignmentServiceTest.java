@@ -0,0 +1,128 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.sprints.onlineVotingSystem.domain.Role;
+import com.sprints.onlineVotingSystem.domain.Voter;
+import com.sprints.onlineVotingSystem.dto.BulkCityAssignmentDTO;
+import com.sprints.onlineVotingSystem.dto.BulkCityAssignmentResultDTO;
+import com.sprints.onlineVotingSystem.exception.BadRequestException;
+import com.sprints.onlineVotingSystem.repository.VoterRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "voting.bulk-assign.chunk-size=3")
+@ActiveProfiles("test")
+@Transactional
+class CityAssignmentServiceTest {
+
+    @Autowired
+    private CityAssignmentService cityAssignmentService;
+
+    @Autowired
+    private VoterRepository voterRepository;
+
+    @Autowired
+    private CityDirectory cityDirectory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private List<Long> oldTownIds;
+
+    @BeforeEach
+    void setUp() {
+        oldTownIds = new ArrayList<>();
+        IntStream.range(0, 7).forEach(i -> oldTownIds.add(saveVoter("old" + i, "Old Town").getId()));
+        saveVoter("stay", "Elsewhere");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void assignVoters_BySourceCity_MovesEveryVoterInChunks() {
+        // Act
+        BulkCityAssignmentResultDTO result = cityAssignmentService.assignVoters(
+                new BulkCityAssignmentDTO(null, "Old Town", "New Town"));
+
+        // Assert
+        assertEquals(7, result.getRequested());
+        assertEquals(7, result.getUpdated());
+        assertEquals(3, result.getChunks());
+        assertEquals(0, countByCity("Old Town"));
+        assertEquals(7, countByCity("New Town"));
+        assertEquals(1, countByCity("Elsewhere"));
+        entityManager.clear();
+        Voter moved = voterRepository.findById(oldTownIds.get(0)).orElseThrow();
+        assertEquals("New Town", moved.getCity());
+        assertEquals(cityDirectory.resolve("New Town").getId(), moved.getCityId());
+        assertEquals(cityDirectory.resolve("New Town").getId(), moved.getCityRef().getId());
+        assertFalse(Hibernate.isInitialized(moved.getCityRef()));
+    }
+
+    @Test
+    void assignVoters_BySourceCitySpellingVariant_MatchesSameCity() {
+        // Act
+        BulkCityAssignmentResultDTO result = cityAssignmentService.assignVoters(
+                new BulkCityAssignmentDTO(null, "  old   TOWN ", "New Town"));
+
+        // Assert
+        assertEquals(7, result.getUpdated());
+        assertEquals(0, countByCity("Old Town"));
+    }
+
+    @Test
+    void assignVoters_ByIds_SkipsUnknownAndDuplicateIds() {
+        // Arrange
+        List<Long> ids = new ArrayList<>(oldTownIds.subList(0, 4));
+        ids.add(oldTownIds.get(0));
+        ids.add(-1L);
+
+        // Act
+        BulkCityAssignmentResultDTO result = cityAssignmentService.assignVoters(
+                new BulkCityAssignmentDTO(ids, null, "New Town"));
+
+        // Assert
+        assertEquals(5, result.getRequested());
+        assertEquals(4, result.getUpdated());
+        assertEquals(2, result.getChunks());
+        assertEquals(3, countByCity("Old Town"));
+        assertEquals("New Town", voterRepository.findById(oldTownIds.get(0)).orElseThrow().getCity());
+    }
+
+    @Test
+    void assignVoters_BothOrNoSelectors_ThrowsBadRequestException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> cityAssignmentService.assignVoters(
+                new BulkCityAssignmentDTO(oldTownIds, "Old Town", "New Town")));
+        assertThrows(BadRequestException.class, () -> cityAssignmentService.assignVoters(
+                new BulkCityAssignmentDTO(null, null, "New Town")));
+        assertThrows(BadRequestException.class, () -> cityAssignmentService.assignVoters(
+                new BulkCityAssignmentDTO(null, "Old Town", "Old Town")));
+    }
+
+    private Voter saveVoter(String name, String city) {
+        Voter voter = Voter.builder()
+                .name(name)
+                .email(name + "@assign.test")
+                .passwordHash("hash")
+                .role(Role.VOTER)
+                .build();
+        voter.assignCity(cityDirectory.resolve(city));
+        return voterRepository.save(voter);
+    }
+
+    private long countByCity(String city) {
+        return voterRepository.countByCityId(cityDirectory.resolve(city).getId());
+    }
+}
@@ -2,13 +2,16 @@ package com.sprints.onlineVotingSystem.service;
 
 import com.sprints.onlineVotingSystem.dto.CandidateResultDTO;
 import com.sprints.onlineVotingSystem.repository.VoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -21,6 +24,12 @@ class ElectionResultServiceTest {
     @Mock
     private VoteRepository voteRepository;
 
+    @Mock
+    private VoteTallyService voteTallyService;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private ElectionResultService electionResultService;
 
@@ -62,4 +71,31 @@ class ElectionResultServiceTest {
         });
         verify(voteRepository, times(1)).getCandidateVoteCounts();
     }
+
+    @Test
+    void getElectionResults_TallyReady_ReadsTally() {
+        // Arrange
+        when(voteTallyService.isReady()).thenReturn(true);
+        when(voteTallyService.getResults()).thenReturn(mockResults);
+
+        // Act
+        List<CandidateResultDTO> results = electionResultService.getElectionResults();
+
+        // Assert
+        assertEquals(mockResults, results);
+        verify(voteRepository, never()).getCandidateVoteCounts();
+    }
+
+    @Test
+    void streamElectionResults_PassesEachResultToConsumer() {
+        // Arrange
+        when(voteRepository.streamCandidateVoteCountsByElection(1L)).thenReturn(mockResults.stream());
+        List<CandidateResultDTO> received = new ArrayList<>();
+
+        // Act
+        electionResultService.streamElectionResults(1L, received::add);
+
+        // Assert
+        assertEquals(mockResults, received);
+    }
 }
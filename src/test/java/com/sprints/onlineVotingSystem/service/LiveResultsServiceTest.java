@@ -0,0 +1,230 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.sprints.onlineVotingSystem.dto.CandidateVoteCountDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveResultsServiceTest {
+
+    @Mock
+    private VoteTallyService voteTallyService;
+
+    private ManualExecutor executor;
+    private LiveResultsService liveResultsService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ManualExecutor();
+        liveResultsService = new LiveResultsService(voteTallyService, executor, 0, 60000);
+        when(voteTallyService.isReady()).thenReturn(true);
+    }
+
+    @Test
+    void subscribe_SendsSnapshotThenOnlyChangedCandidates() {
+        // Arrange
+        when(voteTallyService.getElectionCounts(1L)).thenReturn(
+                List.of(count(10L, 3L), count(11L, 5L)),
+                List.of(count(10L, 3L), count(11L, 5L)),
+                List.of(count(10L, 4L), count(11L, 5L)));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // Act
+        liveResultsService.subscribe(1L, emitter);
+        executor.runAll();
+        liveResultsService.publishChanges();
+        executor.runAll();
+        liveResultsService.publishChanges();
+        executor.runAll();
+
+        // Assert
+        assertEquals(List.of("snapshot", "delta", "delta"), emitter.names);
+        assertEquals(List.of(count(10L, 3L), count(11L, 5L)), emitter.payloads.get(0));
+        assertEquals(List.of(count(10L, 4L)), emitter.payloads.get(2));
+    }
+
+    @Test
+    void publishChanges_ComputesOncePerElectionForAllSubscribers() {
+        // Arrange
+        when(voteTallyService.getElectionCounts(1L)).thenReturn(List.of(count(10L, 1L)));
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        liveResultsService.subscribe(1L, first);
+        liveResultsService.subscribe(1L, second);
+        executor.runAll();
+
+        // Act
+        liveResultsService.publishChanges();
+        liveResultsService.publishChanges();
+        executor.runAll();
+
+        // Assert: two snapshots plus one tick that found changes
+        verify(voteTallyService, times(4)).getElectionCounts(1L);
+        assertEquals(List.of("snapshot", "delta"), first.names);
+        assertEquals(List.of("snapshot", "delta"), second.names);
+    }
+
+    @Test
+    void slowSubscriber_ReceivesLatestCountsInsteadOfBacklog() {
+        // Arrange
+        when(voteTallyService.getElectionCounts(1L)).thenReturn(
+                List.of(count(10L, 1L)),
+                List.of(count(10L, 2L), count(11L, 1L)),
+                List.of(count(10L, 3L), count(11L, 1L)),
+                List.of(count(10L, 4L), count(11L, 1L)));
+        RecordingEmitter emitter = new RecordingEmitter();
+        liveResultsService.subscribe(1L, emitter);
+
+        // Act: the snapshot is still unsent while three ticks publish changes
+        liveResultsService.publishChanges();
+        liveResultsService.publishChanges();
+        liveResultsService.publishChanges();
+        executor.runAll();
+
+        // Assert
+        assertEquals(List.of("snapshot"), emitter.names);
+        assertEquals(List.of(count(10L, 4L), count(11L, 1L)), emitter.payloads.get(0));
+    }
+
+    @Test
+    void failedSend_RemovesSubscriber() {
+        // Arrange
+        when(voteTallyService.getElectionCounts(1L)).thenReturn(List.of(count(10L, 1L)));
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.fail = true;
+
+        // Act
+        liveResultsService.subscribe(1L, emitter);
+        executor.runAll();
+
+        // Assert
+        assertEquals(0, liveResultsService.subscriberCount(1L));
+    }
+
+    @Test
+    void stalledSend_IsAbandonedWithoutStarvingOtherSubscribers() throws Exception {
+        // Arrange: one send thread, held by a client whose socket does not drain
+        ExecutorService pool = Executors.newFixedThreadPool(1);
+        LiveResultsService service = new LiveResultsService(voteTallyService, pool, 0, 50);
+        when(voteTallyService.getElectionCounts(anyLong())).thenReturn(List.of(count(10L, 1L)));
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter();
+        stalled.blockUntil = unblock;
+        RecordingEmitter healthy = new RecordingEmitter();
+        service.subscribe(1L, stalled);
+        Thread.sleep(100);
+
+        // Act
+        service.publishChanges();
+        service.subscribe(2L, healthy);
+
+        // Assert
+        awaitTrue(() -> healthy.names.size() == 1);
+        assertEquals(0, service.subscriberCount(1L));
+        unblock.countDown();
+        awaitTrue(() -> ((ThreadPoolExecutor) pool).getCorePoolSize() == 1);
+        pool.shutdownNow();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    private static CandidateVoteCountDTO count(Long candidateId, Long votes) {
+        return new CandidateVoteCountDTO(candidateId, 1L, "Candidate " + candidateId, votes);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> names = new ArrayList<>();
+        private final List<Object> payloads = new ArrayList<>();
+        private boolean fail;
+        private CountDownLatch blockUntil;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (blockUntil != null) {
+                try {
+                    blockUntil.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (fail) {
+                throw new IOException("Broken pipe");
+            }
+            for (DataWithMediaType item : builder.build()) {
+                if (item.getData() instanceof String text) {
+                    if (text.startsWith("event:")) {
+                        names.add(text.substring("event:".length(), text.indexOf('\n')));
+                    }
+                } else {
+                    payloads.add(item.getData());
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs submitted sends only when asked to, so a test can hold a send back like a slow client would
+     */
+    private static class ManualExecutor extends AbstractExecutorService {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.sprints.onlineVotingSystem.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong nanos;
+    private LoginAttemptService loginAttemptService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        nanos = new AtomicLong();
+        loginAttemptService = new LoginAttemptService(meterRegistry, true, 3, 5, 60, 1000, nanos::get);
+    }
+
+    @Test
+    void checkAllowed_EmailOverThreshold_ThrowsTooManyRequests() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.recordFailure("Voter@Example.com", "10.0.0.1");
+        }
+
+        // Act & Assert
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> loginAttemptService.checkAllowed("voter@example.com", "10.0.0.2"));
+        assertEquals(60, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.login.throttle.rejected").tag("key", "email").counter().count());
+        assertEquals(3.0, meterRegistry.get("auth.login.failures").counter().count());
+    }
+
+    @Test
+    void checkAllowed_IpOverThreshold_ThrowsTooManyRequests() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            loginAttemptService.recordFailure("voter" + i + "@example.com", "10.0.0.1");
+        }
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class,
+                () -> loginAttemptService.checkAllowed("other@example.com", "10.0.0.1"));
+        assertDoesNotThrow(() -> loginAttemptService.checkAllowed("other@example.com", "10.0.0.2"));
+        assertEquals(1.0, meterRegistry.get("auth.login.throttle.rejected").tag("key", "ip").counter().count());
+    }
+
+    @Test
+    void checkAllowed_OldFailuresLeaveWindow_Allowed() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.recordFailure("voter@example.com", null);
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        }
+
+        // Act
+        nanos.set(TimeUnit.SECONDS.toNanos(61));
+
+        // Assert
+        assertDoesNotThrow(() -> loginAttemptService.checkAllowed("voter@example.com", null));
+    }
+
+    @Test
+    void recordSuccess_ClearsEmailHistory() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.recordFailure("voter@example.com", null);
+        }
+
+        // Act
+        loginAttemptService.recordSuccess("voter@example.com");
+
+        // Assert
+        assertDoesNotThrow(() -> loginAttemptService.checkAllowed("voter@example.com", null));
+    }
+
+    @Test
+    void checkAllowed_Disabled_NeverThrows() {
+        // Arrange
+        LoginAttemptService disabled = new LoginAttemptService(meterRegistry, false, 1, 1, 60, 1000, nanos::get);
+        disabled.recordFailure("voter@example.com", "10.0.0.1");
+
+        // Act & Assert
+        assertDoesNotThrow(() -> disabled.checkAllowed("voter@example.com", "10.0.0.1"));
+    }
+}
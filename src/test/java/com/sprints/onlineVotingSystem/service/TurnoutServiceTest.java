@@ -0,0 +1,135 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.sprints.onlineVotingSystem.domain.City;
+import com.sprints.onlineVotingSystem.dto.CityTurnoutDTO;
+import com.sprints.onlineVotingSystem.dto.CityVoteCountDTO;
+import com.sprints.onlineVotingSystem.dto.CityVoterCountDTO;
+import com.sprints.onlineVotingSystem.dto.ElectionTurnoutDTO;
+import com.sprints.onlineVotingSystem.event.VoteCastEvent;
+import com.sprints.onlineVotingSystem.repository.CityRepository;
+import com.sprints.onlineVotingSystem.repository.VoteRepository;
+import com.sprints.onlineVotingSystem.repository.VoterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TurnoutServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-05-01T10:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private VoteRepository voteRepository;
+
+    @Mock
+    private VoterRepository voterRepository;
+
+    @Mock
+    private CityRepository cityRepository;
+
+    private TurnoutService turnoutService;
+
+    @BeforeEach
+    void setUp() {
+        turnoutService = new TurnoutService(voteRepository, voterRepository, cityRepository, CLOCK);
+    }
+
+    @Test
+    void reconcile_LoadsVotesAndEligibleCountsPerCity() {
+        // Arrange
+        stubSourceTables(List.of(
+                new CityVoteCountDTO(1L, 10, 3L),
+                new CityVoteCountDTO(1L, 20, 1L),
+                new CityVoteCountDTO(2L, 10, 5L)));
+
+        // Act
+        turnoutService.reconcile();
+        ElectionTurnoutDTO turnout = turnoutService.getTurnout(1L);
+
+        // Assert
+        assertEquals(4, turnout.getVoted());
+        assertEquals(14, turnout.getEligible());
+        assertEquals(LocalDateTime.of(2026, 5, 1, 10, 0), turnout.getReconciledAt());
+        List<CityTurnoutDTO> cities = turnout.getCities();
+        assertEquals(List.of("Alexandria", "Cairo"), cities.stream().map(CityTurnoutDTO::getCity).toList());
+        assertEquals(new CityTurnoutDTO(20, "Alexandria", 1, 4, 25.0), cities.get(0));
+        assertEquals(new CityTurnoutDTO(10, "Cairo", 3, 10, 30.0), cities.get(1));
+    }
+
+    @Test
+    void onVoteCast_IncrementsCityOfVoter() {
+        // Arrange
+        stubSourceTables(List.of());
+        turnoutService.reconcile();
+
+        // Act
+        turnoutService.onVoteCast(new VoteCastEvent(1L, 5L, "Candidate A", "a@example.com", 10));
+        turnoutService.onVoteCast(new VoteCastEvent(1L, 5L, null, "b@example.com", 20));
+        turnoutService.onVoteCast(new VoteCastEvent(1L, 5L, null, "unassigned@example.com", null));
+        turnoutService.onVoteCast(new VoteCastEvent(2L, 6L, null, "c@example.com", 10));
+
+        // Assert
+        ElectionTurnoutDTO turnout = turnoutService.getTurnout(1L);
+        assertEquals(2, turnout.getVoted());
+        assertEquals(1, turnout.getCities().get(0).getVoted());
+        assertEquals(1, turnout.getCities().get(1).getVoted());
+        verify(voterRepository, never()).findCityIdByEmail(anyString());
+    }
+
+    @Test
+    void reconcile_CorrectsDriftedCounters() {
+        // Arrange
+        stubSourceTables(List.of(new CityVoteCountDTO(1L, 10, 3L)));
+        turnoutService.reconcile();
+        // a vote counted in memory whose transaction was later lost, e.g. a voter deleted since
+        turnoutService.onVoteCast(new VoteCastEvent(1L, 5L, null, "a@example.com", 10));
+        assertEquals(4, turnoutService.getTurnout(1L).getVoted());
+
+        // Act
+        turnoutService.reconcile();
+
+        // Assert
+        assertEquals(3, turnoutService.getTurnout(1L).getVoted());
+    }
+
+    @Test
+    void getTurnout_CityWithoutEligibleVoters_HasNoPercentage() {
+        // Arrange: an admin from a city created after the last reconciliation voted
+        stubSourceTables(List.of());
+        turnoutService.reconcile();
+        when(cityRepository.findById(30)).thenReturn(Optional.of(new City(30, "Giza", "giza")));
+        turnoutService.onVoteCast(new VoteCastEvent(1L, 5L, null, "admin@example.com", 30));
+
+        // Act
+        ElectionTurnoutDTO turnout = turnoutService.getTurnout(1L);
+
+        // Assert
+        CityTurnoutDTO giza = turnout.getCities().get(2);
+        assertEquals("Giza", giza.getCity());
+        assertEquals(1, giza.getVoted());
+        assertNull(giza.getTurnoutPercent());
+        assertEquals(0.0, turnout.getCities().get(0).getTurnoutPercent());
+    }
+
+    private void stubSourceTables(List<CityVoteCountDTO> votes) {
+        when(cityRepository.findAll()).thenReturn(List.of(
+                new City(10, "Cairo", "cairo"),
+                new City(20, "Alexandria", "alexandria")));
+        when(voteRepository.getVoteCountsPerElectionAndCity()).thenReturn(votes);
+        when(voterRepository.countEligibleVotersPerCity()).thenReturn(List.of(
+                new CityVoterCountDTO(10, 10L),
+                new CityVoterCountDTO(20, 4L)));
+    }
+}
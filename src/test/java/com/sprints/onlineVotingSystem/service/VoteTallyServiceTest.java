@@ -0,0 +1,141 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.sprints.onlineVotingSystem.domain.Candidate;
+import com.sprints.onlineVotingSystem.dto.CandidateResultDTO;
+import com.sprints.onlineVotingSystem.dto.CandidateVoteCountDTO;
+import com.sprints.onlineVotingSystem.event.VoteCastEvent;
+import com.sprints.onlineVotingSystem.repository.CandidateRepository;
+import com.sprints.onlineVotingSystem.repository.VoteRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoteTallyServiceTest {
+
+    @Mock
+    private VoteRepository voteRepository;
+
+    @Mock
+    private CandidateRepository candidateRepository;
+
+    @InjectMocks
+    private VoteTallyService voteTallyService;
+
+    @Test
+    void isReady_BeforeRebuild_ReturnsFalse() {
+        assertFalse(voteTallyService.isReady());
+    }
+
+    @Test
+    void rebuild_LoadsCountsFromDatabase() {
+        // Arrange
+        stubCandidates("Candidate A", "Candidate B");
+        when(voteRepository.getVoteCountsPerCandidate()).thenReturn(Arrays.asList(
+            new CandidateVoteCountDTO(1L, 1L, "Candidate A", 3L),
+            new CandidateVoteCountDTO(2L, 1L, "Candidate B", 7L)
+        ));
+
+        // Act
+        voteTallyService.rebuild();
+        List<CandidateResultDTO> results = voteTallyService.getResults();
+
+        // Assert
+        assertTrue(voteTallyService.isReady());
+        assertEquals(2, results.size());
+        assertEquals("Candidate B", results.get(0).getCandidateName());
+        assertEquals(7L, results.get(0).getTotalVotes());
+        assertEquals("Candidate A", results.get(1).getCandidateName());
+        assertEquals(3L, results.get(1).getTotalVotes());
+    }
+
+    @Test
+    void onVoteCast_IncrementsExistingAndNewCandidates() {
+        // Arrange
+        stubCandidates("Candidate A", "Candidate B");
+        when(voteRepository.getVoteCountsPerCandidate()).thenReturn(List.of(
+            new CandidateVoteCountDTO(1L, 1L, "Candidate A", 1L)
+        ));
+        voteTallyService.rebuild();
+
+        // Act
+        voteTallyService.onVoteCast(new VoteCastEvent(1L, 1L, "Candidate A", "a@example.com", 10));
+        voteTallyService.onVoteCast(new VoteCastEvent(1L, 2L, "Candidate B", "b@example.com", 10));
+        List<CandidateResultDTO> results = voteTallyService.getResults();
+
+        // Assert
+        assertEquals(2, results.size());
+        assertEquals(new CandidateResultDTO("Candidate A", 2L), results.get(0));
+        assertEquals(new CandidateResultDTO("Candidate B", 1L), results.get(1));
+    }
+
+    @Test
+    void rebuild_VoteCommittedDuringRecount_IsKept() {
+        // Arrange
+        stubCandidates("Candidate A");
+        when(voteRepository.getVoteCountsPerCandidate()).thenAnswer(invocation -> {
+            // committed after the recount read the table, so not part of its result
+            voteTallyService.onVoteCast(new VoteCastEvent(1L, 1L, null, "late@example.com", 10));
+            return List.of(new CandidateVoteCountDTO(1L, 1L, "Candidate A", 3L));
+        });
+
+        // Act
+        voteTallyService.rebuild();
+
+        // Assert
+        assertEquals(List.of(new CandidateResultDTO("Candidate A", 4L)), voteTallyService.getResults());
+    }
+
+    @Test
+    void getResults_RenamedCandidate_ShowsNewName() {
+        // Arrange
+        stubCandidates("Candidate A");
+        when(voteRepository.getVoteCountsPerCandidate()).thenReturn(List.of(
+            new CandidateVoteCountDTO(1L, 1L, "Candidate A", 2L)
+        ));
+        voteTallyService.rebuild();
+        when(candidateRepository.findById(1L)).thenReturn(Optional.of(new Candidate(1L, "Renamed A", null)));
+
+        // Act
+        List<CandidateResultDTO> results = voteTallyService.getResults();
+
+        // Assert
+        assertEquals(List.of(new CandidateResultDTO("Renamed A", 2L)), results);
+    }
+
+    @Test
+    void getElectionCounts_DeletedCandidate_DropsCounter() {
+        // Arrange
+        stubCandidates("Candidate A", "Candidate B");
+        when(voteRepository.getVoteCountsPerCandidate()).thenReturn(List.of(
+            new CandidateVoteCountDTO(1L, 1L, "Candidate A", 2L),
+            new CandidateVoteCountDTO(2L, 2L, "Candidate B", 5L)
+        ));
+        voteTallyService.rebuild();
+        when(candidateRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act
+        List<CandidateVoteCountDTO> counts = voteTallyService.getElectionCounts(1L);
+
+        // Assert
+        assertTrue(counts.isEmpty());
+        assertEquals(List.of(new CandidateResultDTO("Candidate B", 5L)), voteTallyService.getResults());
+        verify(candidateRepository, times(1)).findById(1L);
+    }
+
+    private void stubCandidates(String... names) {
+        for (int i = 0; i < names.length; i++) {
+            long id = i + 1;
+            lenient().when(candidateRepository.findById(id)).thenReturn(Optional.of(new Candidate(id, names[i], null)));
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sprints.onlineVotingSystem.domain.City;
+import com.sprints.onlineVotingSystem.domain.Voter;
+import com.sprints.onlineVotingSystem.dto.VoterImportReportDTO;
+import com.sprints.onlineVotingSystem.exception.BadRequestException;
+import com.sprints.onlineVotingSystem.repository.VoterRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoterImportServiceTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private VoterRepository voterRepository;
+
+    @Mock
+    private CityDirectory cityDirectory;
+
+    private VoterImportService voterImportService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cityDirectory.resolve(anyString()))
+                .thenAnswer(invocation -> new City(7, invocation.getArgument(0), "key"));
+        voterImportService = new VoterImportService(voterRepository, cityDirectory, VALIDATOR, new ObjectMapper(),
+                new TransactionTemplate(new NoOpTransactionManager()), new PrefixEncoder(), 2, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        voterImportService.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importVoters_Csv_SavesValidRowsInChunksAndReportsFailures() throws Exception {
+        // Arrange
+        when(voterRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@example.com"));
+        String csv = """
+                email,name,password,city
+                ali@example.com,Ali,secret1,Cairo
+                "omar@example.com","Omar, Jr.",secret2,Giza
+                mona@example.com,Mona,secret4,Alex
+                mona@example.com,Mona Again,secret5,Alex
+                bad-email,Bad,x,Cairo
+                taken@example.com,Taken,secret3,Cairo
+                """;
+
+        // Act
+        VoterImportReportDTO report = voterImportService.importVoters(stream(csv), VoterImportService.Format.CSV);
+
+        // Assert
+        assertEquals(6, report.getTotalRows());
+        assertEquals(3, report.getImported());
+        assertEquals(3, report.getFailed());
+        assertFalse(report.isErrorsTruncated());
+        assertEquals(List.of(5L, 6L, 7L), report.getErrors().stream().map(e -> e.getLine()).sorted().toList());
+        assertTrue(report.getErrors().stream().anyMatch(e -> e.getLine() == 5 && e.getMessage().equals("Duplicate email in import")));
+        assertTrue(report.getErrors().stream().anyMatch(e -> e.getLine() == 7 && e.getMessage().equals("Voter with this email already exists")));
+
+        ArgumentCaptor<List<Voter>> saved = ArgumentCaptor.forClass(List.class);
+        verify(voterRepository, times(2)).saveAll(saved.capture());
+        List<Voter> voters = saved.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(List.of("ali@example.com", "omar@example.com", "mona@example.com"),
+                voters.stream().map(Voter::getEmail).toList());
+        assertEquals("Omar, Jr.", voters.get(1).getName());
+        assertEquals("hashed:secret2", voters.get(1).getPasswordHash());
+        verify(voterRepository, times(3)).findExistingEmails(anyCollection());
+    }
+
+    @Test
+    void importVoters_Ndjson_ReportsMalformedLines() throws Exception {
+        // Arrange
+        when(voterRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        String ndjson = """
+                {"name":"Ali","email":"ali@example.com","password":"secret1","city":"Cairo"}
+                {not json}
+
+                {"name":"Omar","email":"omar@example.com","password":"secret2","city":"Giza"}
+                """;
+
+        // Act
+        VoterImportReportDTO report = voterImportService.importVoters(stream(ndjson), VoterImportService.Format.NDJSON);
+
+        // Assert
+        assertEquals(3, report.getTotalRows());
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(2L, report.getErrors().get(0).getLine());
+        assertEquals("Malformed row", report.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importVoters_ChunkConflict_FallsBackToRowInserts() throws Exception {
+        // Arrange
+        when(voterRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        when(voterRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(voterRepository.save(any(Voter.class))).thenAnswer(invocation -> {
+            Voter voter = invocation.getArgument(0);
+            if (voter.getEmail().equals("raced@example.com")) {
+                throw new DataIntegrityViolationException("duplicate");
+            }
+            return voter;
+        });
+        String csv = """
+                name,email,password,city
+                Ali,ali@example.com,secret1,Cairo
+                Raced,raced@example.com,secret2,Cairo
+                """;
+
+        // Act
+        VoterImportReportDTO report = voterImportService.importVoters(stream(csv), VoterImportService.Format.CSV);
+
+        // Assert
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(3L, report.getErrors().get(0).getLine());
+        verify(voterRepository, times(2)).save(any(Voter.class));
+    }
+
+    @Test
+    void importVoters_CsvMissingColumns_ThrowsBadRequestException() {
+        // Arrange
+        String csv = "name,email\nAli,ali@example.com\n";
+
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> voterImportService.importVoters(stream(csv), VoterImportService.Format.CSV));
+        verifyNoInteractions(voterRepository);
+    }
+
+    @Test
+    void formatOf_ResolvesSupportedContentTypes() {
+        // Act & Assert
+        assertEquals(VoterImportService.Format.CSV, VoterImportService.formatOf("text/csv; charset=UTF-8"));
+        assertEquals(VoterImportService.Format.NDJSON, VoterImportService.formatOf("application/x-ndjson"));
+        assertThrows(BadRequestException.class, () -> VoterImportService.formatOf("application/json"));
+    }
+
+    @Test
+    void splitCsvLine_HandlesQuotedFields() {
+        // Act & Assert
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), VoterImportService.splitCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+        assertThrows(IllegalArgumentException.class, () -> VoterImportService.splitCsvLine("a,\"open"));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cheap stand-in for BCrypt so the tests do not spend time hashing
+     */
+    private static class PrefixEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    /**
+     * Runs transaction callbacks without a real resource
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.sprints.onlineVotingSystem.service;
 
+import com.sprints.onlineVotingSystem.domain.City;
 import com.sprints.onlineVotingSystem.domain.Role;
 import com.sprints.onlineVotingSystem.domain.Voter;
+import com.sprints.onlineVotingSystem.dto.KeysetPageDTO;
 import com.sprints.onlineVotingSystem.exception.BadRequestException;
 import com.sprints.onlineVotingSystem.exception.ResourceNotFoundException;
 import com.sprints.onlineVotingSystem.repository.VoterRepository;
@@ -11,9 +13,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,11 +29,18 @@ class VoterServiceTest {
     @Mock
     private VoterRepository voterRepository;
 
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private CityDirectory cityDirectory;
+
     @InjectMocks
     private VoterService voterService;
 
     private Voter testVoter1;
     private Voter testVoter2;
+    private final City newYork = new City(3, "New York", "new york");
 
     @BeforeEach
     void setUp() {
@@ -54,108 +64,143 @@ class VoterServiceTest {
     }
 
     @Test
-    void getVotersByCity_ShouldReturnVoters_WhenCityHasVoters() {
+    void registerVoter_ShouldStoreCanonicalCityAndCityId() {
         // Arrange
-        String cityName = "New York";
-        List<Voter> expectedVoters = Arrays.asList(testVoter1, testVoter2);
-        when(voterRepository.findByCity(cityName)).thenReturn(expectedVoters);
-
+        Voter voter = Voter.builder()
+                .name("Sam Lee")
+                .email("sam.lee@example.com")
+                .passwordHash("plain")
+                .city("  new   YORK ")
+                .build();
+        when(voterRepository.existsByEmail("sam.lee@example.com")).thenReturn(false);
+        when(passwordEncoder.encode("plain")).thenReturn("hashed");
+        when(cityDirectory.resolve("  new   YORK ")).thenReturn(newYork);
+        when(voterRepository.save(voter)).thenReturn(voter);
+        
         // Act
-        List<Voter> result = voterService.getVotersByCity(cityName);
-
-        // Assert
-        assertNotNull(result);
-        assertEquals(expectedVoters, result);
-        assertEquals(2, result.size());
-        assertEquals("New York", result.get(0).getCity());
-        assertEquals("New York", result.get(1).getCity());
+        Voter result = voterService.registerVoter(voter);
         
-        verify(voterRepository, times(1)).findByCity(cityName);
+        // Assert
+        assertEquals("New York", result.getCity());
+        assertEquals(3, result.getCityId());
+        assertEquals("hashed", result.getPasswordHash());
     }
-
+    
     @Test
-    void getVotersByCity_ShouldReturnEmptyList_WhenCityHasNoVoters() {
+    void getVoterById_ShouldReturnVoter_WhenVoterExists() {
         // Arrange
-        String cityName = "Los Angeles";
-        List<Voter> expectedVoters = Collections.emptyList();
-        when(voterRepository.findByCity(cityName)).thenReturn(expectedVoters);
-
+        Long voterId = 1L;
+        when(voterRepository.findById(voterId)).thenReturn(Optional.of(testVoter1));
+        
         // Act
-        List<Voter> result = voterService.getVotersByCity(cityName);
-
+        Voter result = voterService.getVoterById(voterId);
+        
         // Assert
         assertNotNull(result);
-        assertEquals(expectedVoters, result);
-        assertTrue(result.isEmpty());
-        
-        verify(voterRepository, times(1)).findByCity(cityName);
+        assertEquals(testVoter1, result);
+        verify(voterRepository, times(1)).findById(voterId);
     }
-
+    
     @Test
-    void getVotersByCity_ShouldThrowBadRequestException_WhenCityIsEmpty() {
+    void getVoterById_ShouldThrowResourceNotFoundException_WhenVoterDoesNotExist() {
         // Arrange
-        String cityName = "";
+        Long voterId = 999L;
+        when(voterRepository.findById(voterId)).thenReturn(Optional.empty());
         
         // Act & Assert
-        BadRequestException exception = assertThrows(BadRequestException.class, 
-                () -> voterService.getVotersByCity(cityName));
-        assertEquals("City name cannot be null or empty", exception.getMessage());
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, 
+                () -> voterService.getVoterById(voterId));
+        assertEquals("Voter not found with id : '999'", exception.getMessage());
         
-        verify(voterRepository, never()).findByCity(anyString());
+        verify(voterRepository, times(1)).findById(voterId);
     }
-
+    
     @Test
-    void getVotersByCity_ShouldThrowBadRequestException_WhenCityIsNull() {
+    void assignVoterToCity_ShouldUpdateWithoutLoadingVoter() {
         // Arrange
-        String cityName = null;
+        City boston = new City(5, "Boston", "boston");
+        when(cityDirectory.resolve(" boston ")).thenReturn(boston);
+        when(voterRepository.updateVoterCity(1L, boston)).thenReturn(1);
         
-        // Act & Assert
-        BadRequestException exception = assertThrows(BadRequestException.class, 
-                () -> voterService.getVotersByCity(cityName));
-        assertEquals("City name cannot be null or empty", exception.getMessage());
+        // Act
+        voterService.assignVoterToCity(1L, " boston ");
         
-        verify(voterRepository, never()).findByCity(anyString());
+        // Assert
+        verify(voterRepository, times(1)).updateVoterCity(1L, boston);
+        verify(voterRepository, never()).findById(any());
     }
     
     @Test
-    void getVotersByCity_ShouldThrowBadRequestException_WhenCityIsOnlyWhitespace() {
+    void assignVoterToCity_ShouldThrowResourceNotFoundException_WhenVoterDoesNotExist() {
         // Arrange
-        String cityName = "   ";
+        City boston = new City(5, "Boston", "boston");
+        when(cityDirectory.resolve("Boston")).thenReturn(boston);
+        when(voterRepository.updateVoterCity(999L, boston)).thenReturn(0);
         
         // Act & Assert
-        BadRequestException exception = assertThrows(BadRequestException.class, 
-                () -> voterService.getVotersByCity(cityName));
-        assertEquals("City name cannot be null or empty", exception.getMessage());
-        
-        verify(voterRepository, never()).findByCity(anyString());
+        assertThrows(ResourceNotFoundException.class, () -> voterService.assignVoterToCity(999L, "Boston"));
     }
     
     @Test
-    void getVoterById_ShouldReturnVoter_WhenVoterExists() {
+    void getVotersByCityPage_ShouldReturnCursor_WhenMoreVotersFollow() {
         // Arrange
-        Long voterId = 1L;
-        when(voterRepository.findById(voterId)).thenReturn(Optional.of(testVoter1));
+        when(cityDirectory.find("New York")).thenReturn(Optional.of(newYork));
+        when(voterRepository.findByCityIdAndIdGreaterThanOrderByIdAsc(3, 0L, Limit.of(2)))
+                .thenReturn(Arrays.asList(testVoter1, testVoter2));
         
         // Act
-        Voter result = voterService.getVoterById(voterId);
+        KeysetPageDTO<Voter> page = voterService.getVotersByCity("New York", 0L, 1);
         
         // Assert
-        assertNotNull(result);
-        assertEquals(testVoter1, result);
-        verify(voterRepository, times(1)).findById(voterId);
+        assertEquals(List.of(testVoter1), page.getItems());
+        assertEquals(1L, page.getNextAfter());
     }
     
     @Test
-    void getVoterById_ShouldThrowResourceNotFoundException_WhenVoterDoesNotExist() {
+    void getVotersByCityPage_ShouldReturnNoCursor_OnLastPage() {
         // Arrange
-        Long voterId = 999L;
-        when(voterRepository.findById(voterId)).thenReturn(Optional.empty());
+        when(cityDirectory.find("New York")).thenReturn(Optional.of(newYork));
+        when(voterRepository.findByCityIdAndIdGreaterThanOrderByIdAsc(3, 1L, Limit.of(3)))
+                .thenReturn(List.of(testVoter2));
         
+        // Act
+        KeysetPageDTO<Voter> page = voterService.getVotersByCity("New York", 1L, 2);
+        
+        // Assert
+        assertEquals(List.of(testVoter2), page.getItems());
+        assertNull(page.getNextAfter());
+    }
+    
+    @Test
+    void getVotersByCityPage_ShouldThrowBadRequestException_WhenLimitOutOfRange() {
         // Act & Assert
-        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, 
-                () -> voterService.getVoterById(voterId));
-        assertEquals("Voter not found with id : '999'", exception.getMessage());
+        assertThrows(BadRequestException.class, () -> voterService.getVotersByCity("New York", 0L, 0));
+        assertThrows(BadRequestException.class, () -> voterService.getVotersByCity("New York", 0L, 1001));
+        verifyNoInteractions(voterRepository);
+    }
+    
+    @Test
+    void getVotersByCityPage_ShouldReturnEmptyPageWithoutQuery_WhenCityIsUnknown() {
+        // Arrange
+        when(cityDirectory.find("Atlantis")).thenReturn(Optional.empty());
         
-        verify(voterRepository, times(1)).findById(voterId);
+        // Act
+        KeysetPageDTO<Voter> page = voterService.getVotersByCity("Atlantis", 0L, 100);
+        
+        // Assert
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextAfter());
+        verifyNoInteractions(voterRepository);
+    }
+    
+    @Test
+    void getVotersByCityPage_ShouldThrowBadRequestException_WhenCityIsBlank() {
+        // Act & Assert
+        for (String cityName : Arrays.asList(null, "", "   ")) {
+            BadRequestException exception = assertThrows(BadRequestException.class,
+                    () -> voterService.getVotersByCity(cityName, 0L, 100));
+            assertEquals("City name cannot be null or empty", exception.getMessage());
+        }
+        verifyNoInteractions(voterRepository);
     }
 }
@@ -1,11 +1,14 @@
 package com.sprints.onlineVotingSystem.service;
 
 import com.sprints.onlineVotingSystem.domain.Candidate;
+import com.sprints.onlineVotingSystem.domain.City;
 import com.sprints.onlineVotingSystem.domain.Election;
 import com.sprints.onlineVotingSystem.domain.Role;
 import com.sprints.onlineVotingSystem.domain.Vote;
 import com.sprints.onlineVotingSystem.domain.Voter;
+import com.sprints.onlineVotingSystem.dto.VoteReceiptDTO;
 import com.sprints.onlineVotingSystem.dto.VoteRequestDTO;
+import com.sprints.onlineVotingSystem.event.VoteCastEvent;
 import com.sprints.onlineVotingSystem.exception.BadRequestException;
 import com.sprints.onlineVotingSystem.exception.ResourceNotFoundException;
 import com.sprints.onlineVotingSystem.exception.UnassignedVoterException;
@@ -14,14 +17,21 @@ import com.sprints.onlineVotingSystem.repository.CandidateRepository;
 import com.sprints.onlineVotingSystem.repository.ElectionRepository;
 import com.sprints.onlineVotingSystem.repository.VoteRepository;
 import com.sprints.onlineVotingSystem.repository.VoterRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -43,6 +53,15 @@ class VotingServiceTest {
     @Mock
     private ElectionRepository electionRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private VotingWindowEvaluator votingWindowEvaluator = new VotingWindowEvaluator(Clock.systemDefaultZone());
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private VotingService votingService;
 
@@ -60,7 +79,7 @@ class VotingServiceTest {
         validVoter.setId(1L);
         validVoter.setEmail("test@example.com");
         validVoter.setName("Test Voter");
-        validVoter.setCity("Test City");
+        validVoter.assignCity(new City(10, "Test City", "test city"));
         validVoter.setRole(Role.VOTER);
         
         validElection = new Election();
@@ -98,6 +117,11 @@ class VotingServiceTest {
         assertNotNull(result);
         assertEquals(savedVote.getId(), result.getId());
         verify(voteRepository).save(any(Vote.class));
+        verify(eventPublisher).publishEvent(any(VoteCastEvent.class));
+        for (String stage : new String[] {"voter_lookup", "window_check", "candidate_lookup", "duplicate_check", "insert"}) {
+            assertEquals(1, meterRegistry.get("voting.cast.stage").tag("stage", stage).timer().count(), stage);
+        }
+        assertTrue(meterRegistry.find("voting.cast.rejected").counters().isEmpty());
     }
 
     @Test
@@ -240,6 +264,8 @@ class VotingServiceTest {
         verify(voterRepository).findByEmail(validVoter.getEmail());
         verify(electionRepository).findById(validVoteRequest.getElectionId());
         verify(candidateRepository, never()).findById(any());
+        assertEquals(1, meterRegistry.get("voting.cast.rejected")
+                .tag("reason", "window_check").tag("exception", "VotingClosedException").counter().count());
     }
 
     @Test
@@ -329,5 +355,173 @@ class VotingServiceTest {
         verify(candidateRepository).findById(validVoteRequest.getCandidateId());
         verify(voteRepository).existsByVoterAndElection(validVoter, validElection);
         verify(voteRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+        assertEquals(1, meterRegistry.get("voting.cast.rejected")
+                .tag("reason", "duplicate_check").tag("exception", "BadRequestException").counter().count());
+        assertEquals(0, meterRegistry.get("voting.cast.stage").tag("stage", "insert").timer().count());
+    }
+
+    @Test
+    void submitBallot_Success() {
+        // Arrange
+        when(voteRepository.insertVoteIfEligible(eq(validVoter.getEmail()), eq(1L), eq(1L), any(), any())).thenReturn(1);
+        when(voterRepository.findCityIdByEmail(validVoter.getEmail())).thenReturn(Optional.of(10));
+
+        // Act
+        VoteReceiptDTO receipt = votingService.submitBallot(validVoteRequest, validVoter.getEmail());
+
+        // Assert
+        assertNotNull(receipt);
+        assertEquals(1L, receipt.getElectionId());
+        assertEquals(1L, receipt.getCandidateId());
+        assertEquals(validVoter.getEmail(), receipt.getVoterEmail());
+        assertNotNull(receipt.getVoteTime());
+        verify(voterRepository).findCityIdByEmail(validVoter.getEmail());
+        verifyNoMoreInteractions(voterRepository);
+        verifyNoInteractions(electionRepository, candidateRepository);
+        verify(voteRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(argThat((VoteCastEvent event) -> Integer.valueOf(10).equals(event.getVoterCityId())));
+    }
+
+    @Test
+    void submitBallot_NullCandidateId_ThrowsBadRequestException() {
+        // Arrange
+        VoteRequestDTO invalidRequest = new VoteRequestDTO(null, 1L);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> {
+            votingService.submitBallot(invalidRequest, validVoter.getEmail());
+        });
+        
+        verifyNoInteractions(voteRepository);
+    }
+
+    @Test
+    void submitBallot_UnassignedVoter_ThrowsUnassignedVoterException() {
+        // Arrange
+        Voter unassignedVoter = new Voter();
+        unassignedVoter.setId(1L);
+        unassignedVoter.setEmail("unassigned@example.com");
+        unassignedVoter.setName("Unassigned Voter");
+        unassignedVoter.setCity(" "); // blank legacy city that V4 left without a city ID
+        unassignedVoter.setRole(Role.VOTER);
+        when(voteRepository.insertVoteIfEligible(any(), any(), any(), any(), any())).thenReturn(0);
+        when(voterRepository.findByEmail(unassignedVoter.getEmail())).thenReturn(Optional.of(unassignedVoter));
+
+        // Act & Assert
+        assertThrows(UnassignedVoterException.class, () -> {
+            votingService.submitBallot(validVoteRequest, unassignedVoter.getEmail());
+        });
+        
+        verify(electionRepository, never()).findById(any());
+    }
+
+    @Test
+    void submitBallot_VotingClosed_ThrowsVotingClosedException() {
+        // Arrange
+        validElection.setStartDate(LocalDate.now().minusDays(3));
+        validElection.setEndDate(LocalDate.now().minusDays(1));
+        when(voteRepository.insertVoteIfEligible(any(), any(), any(), any(), any())).thenReturn(0);
+        when(voterRepository.findByEmail(validVoter.getEmail())).thenReturn(Optional.of(validVoter));
+        when(electionRepository.findById(validVoteRequest.getElectionId())).thenReturn(Optional.of(validElection));
+
+        // Act & Assert
+        assertThrows(VotingClosedException.class, () -> {
+            votingService.submitBallot(validVoteRequest, validVoter.getEmail());
+        });
+        
+        verify(candidateRepository, never()).findById(any());
+    }
+
+    @Test
+    void submitBallot_DuplicateVote_ThrowsBadRequestException() {
+        // Arrange
+        when(voteRepository.insertVoteIfEligible(any(), any(), any(), any(), any())).thenReturn(0);
+        when(voterRepository.findByEmail(validVoter.getEmail())).thenReturn(Optional.of(validVoter));
+        when(electionRepository.findById(validVoteRequest.getElectionId())).thenReturn(Optional.of(validElection));
+        when(candidateRepository.findById(validVoteRequest.getCandidateId())).thenReturn(Optional.of(validCandidate));
+        when(voteRepository.existsByVoterAndElection(validVoter, validElection)).thenReturn(true);
+
+        // Act & Assert
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> {
+            votingService.submitBallot(validVoteRequest, validVoter.getEmail());
+        });
+        
+        assertEquals("You have already voted in this election", ex.getMessage());
+        verify(voteRepository, never()).save(any());
+    }
+
+    @Test
+    void castVote_InsertFirst_SkipsDuplicateCheck() {
+        // Arrange
+        ReflectionTestUtils.setField(votingService, "insertFirst", true);
+        when(voterRepository.findByEmail(validVoter.getEmail())).thenReturn(Optional.of(validVoter));
+        when(electionRepository.findById(validVoteRequest.getElectionId())).thenReturn(Optional.of(validElection));
+        when(candidateRepository.findById(validVoteRequest.getCandidateId())).thenReturn(Optional.of(validCandidate));
+        when(voteRepository.saveAndFlush(any(Vote.class))).thenReturn(savedVote);
+
+        // Act
+        Vote result = votingService.castVote(validVoteRequest, validVoter.getEmail());
+
+        // Assert
+        assertEquals(savedVote.getId(), result.getId());
+        verify(voteRepository, never()).existsByVoterAndElection(any(), any());
+        verify(voteRepository).saveAndFlush(any(Vote.class));
+    }
+
+    @Test
+    void castVote_InsertFirstDuplicateVote_ThrowsBadRequestException() {
+        // Arrange
+        ReflectionTestUtils.setField(votingService, "insertFirst", true);
+        when(voterRepository.findByEmail(validVoter.getEmail())).thenReturn(Optional.of(validVoter));
+        when(electionRepository.findById(validVoteRequest.getElectionId())).thenReturn(Optional.of(validElection));
+        when(candidateRepository.findById(validVoteRequest.getCandidateId())).thenReturn(Optional.of(validCandidate));
+        when(voteRepository.saveAndFlush(any(Vote.class))).thenThrow(duplicateVoteViolation());
+
+        // Act & Assert
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> {
+            votingService.castVote(validVoteRequest, validVoter.getEmail());
+        });
+        
+        assertEquals("You have already voted in this election", ex.getMessage());
+        verify(voteRepository, never()).existsByVoterAndElection(any(), any());
+    }
+
+    @Test
+    void castVote_InsertFirstOtherViolation_IsRethrown() {
+        // Arrange
+        ReflectionTestUtils.setField(votingService, "insertFirst", true);
+        DataIntegrityViolationException otherViolation = new DataIntegrityViolationException("NULL not allowed for column \"VOTER_ID\"");
+        when(voterRepository.findByEmail(validVoter.getEmail())).thenReturn(Optional.of(validVoter));
+        when(electionRepository.findById(validVoteRequest.getElectionId())).thenReturn(Optional.of(validElection));
+        when(candidateRepository.findById(validVoteRequest.getCandidateId())).thenReturn(Optional.of(validCandidate));
+        when(voteRepository.saveAndFlush(any(Vote.class))).thenThrow(otherViolation);
+
+        // Act & Assert
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class, () -> {
+            votingService.castVote(validVoteRequest, validVoter.getEmail());
+        });
+        
+        assertSame(otherViolation, ex);
+    }
+
+    @Test
+    void submitBallot_ConcurrentDuplicate_ThrowsBadRequestException() {
+        // Arrange
+        when(voteRepository.insertVoteIfEligible(any(), any(), any(), any(), any())).thenThrow(duplicateVoteViolation());
+
+        // Act & Assert
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> {
+            votingService.submitBallot(validVoteRequest, validVoter.getEmail());
+        });
+        
+        assertEquals("You have already voted in this election", ex.getMessage());
+        verifyNoInteractions(voterRepository);
+    }
+
+    private DataIntegrityViolationException duplicateVoteViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new org.hibernate.exception.ConstraintViolationException("Unique index or primary key violation",
+                        new SQLException(), "PUBLIC.UK_VOTE_VOTER_ELECTION_INDEX_2"));
     }
 }
@@ -0,0 +1,67 @@
+package com.sprints.onlineVotingSystem.service;
+
+import com.sprints.onlineVotingSystem.domain.Election;
+import com.sprints.onlineVotingSystem.domain.VotingWindow;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VotingWindowEvaluatorTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    private final Election election = new Election(1L, "Test Election", LocalDate.of(2024, 3, 10), LocalDate.of(2024, 11, 3));
+
+    @Test
+    void status_BeforeStartInElectionZone_NotStarted() {
+        // 2024-03-10T04:59:59Z is still 2024-03-09 in New York
+        VotingWindowEvaluator evaluator = evaluatorAt("2024-03-10T04:59:59Z");
+
+        assertEquals(VotingWindowEvaluator.Status.NOT_STARTED, evaluator.status(election));
+    }
+
+    @Test
+    void status_StartOfStartDate_Open() {
+        VotingWindowEvaluator evaluator = evaluatorAt("2024-03-10T05:00:00Z");
+
+        assertEquals(VotingWindowEvaluator.Status.OPEN, evaluator.status(election));
+    }
+
+    @Test
+    void status_LastSecondOfEndDateAcrossDstChange_Open() {
+        // The window closes at midnight EST (UTC-5) after the November DST change, not at midnight EDT
+        VotingWindowEvaluator evaluator = evaluatorAt("2024-11-04T04:59:59Z");
+
+        assertEquals(VotingWindowEvaluator.Status.OPEN, evaluator.status(election));
+    }
+
+    @Test
+    void status_AfterEndDate_Closed() {
+        VotingWindowEvaluator evaluator = evaluatorAt("2024-11-04T05:00:00Z");
+
+        assertEquals(VotingWindowEvaluator.Status.CLOSED, evaluator.status(election));
+        assertFalse(evaluator.isOpen(election));
+    }
+
+    @Test
+    void windowOf_ReusesWindowUntilDatesChange() {
+        VotingWindowEvaluator evaluator = evaluatorAt("2024-06-01T12:00:00Z");
+
+        VotingWindow first = evaluator.windowOf(election);
+        assertSame(first, evaluator.windowOf(election));
+
+        election.setEndDate(LocalDate.of(2024, 5, 1));
+
+        assertNotSame(first, evaluator.windowOf(election));
+        assertEquals(VotingWindowEvaluator.Status.CLOSED, evaluator.status(election));
+    }
+
+    private static VotingWindowEvaluator evaluatorAt(String instant) {
+        return new VotingWindowEvaluator(Clock.fixed(Instant.parse(instant), NEW_YORK));
+    }
+}
@@ -0,0 +1,34 @@
+package com.sprints.onlineVotingSystem.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CityNamesTest {
+
+    @Test
+    void displayName_TrimsAndCollapsesWhitespace() {
+        assertEquals("New York", CityNames.displayName("  New \t  York "));
+        assertEquals("", CityNames.displayName("   "));
+        assertEquals("", CityNames.displayName(null));
+    }
+
+    @Test
+    void lookupKey_FoldsCaseAccentsAndWhitespace() {
+        Locale english = Locale.ENGLISH;
+
+        assertEquals("sao paulo", CityNames.lookupKey(" São  Paulo", english));
+        assertEquals(CityNames.lookupKey("Cairo", english), CityNames.lookupKey("CAIRO ", english));
+        assertEquals("zurich", CityNames.lookupKey("Zu\u0308rich", english));
+    }
+
+    @Test
+    void lookupKey_UsesConfiguredLocaleForCaseFolding() {
+        // Turkish lower-cases the dotted capital I to a plain i and the plain capital I to a dotless ı
+        assertEquals("izmir", CityNames.lookupKey("İzmir", Locale.forLanguageTag("tr")));
+        assertEquals("ısparta", CityNames.lookupKey("ISPARTA", Locale.forLanguageTag("tr")));
+        assertEquals("isparta", CityNames.lookupKey("ISPARTA", Locale.ENGLISH));
+    }
+}
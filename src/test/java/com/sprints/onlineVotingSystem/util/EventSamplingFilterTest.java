@@ -0,0 +1,86 @@
+package com.sprints.onlineVotingSystem.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.KeyValuePair;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSamplingFilterTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private EventSamplingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new EventSamplingFilter();
+        filter.setContext(loggerContext);
+        filter.setRates("vote.cast=10, login.succeeded=1");
+        filter.start();
+    }
+
+    @Test
+    void decide_KeepsOneInEveryNEventsOfASampledType() {
+        // Act
+        long kept = IntStream.range(0, 100)
+                .mapToObj(i -> filter.decide(event(Level.INFO, LogEvents.VOTE_CAST)))
+                .filter(reply -> reply == FilterReply.NEUTRAL)
+                .count();
+
+        // Assert
+        assertTrue(filter.isStarted());
+        assertEquals(10, kept);
+    }
+
+    @Test
+    void decide_FirstEventOfATypeIsKept() {
+        // Act & Assert
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.INFO, LogEvents.VOTE_CAST)));
+        assertEquals(FilterReply.DENY, filter.decide(event(Level.INFO, LogEvents.VOTE_CAST)));
+    }
+
+    @Test
+    void decide_PassesUnsampledEventsWarningsAndPlainLines() {
+        // Arrange
+        filter.decide(event(Level.INFO, LogEvents.VOTE_CAST));
+
+        // Act & Assert
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.WARN, LogEvents.VOTE_CAST)));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.INFO, LogEvents.LOGIN_SUCCEEDED)));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.INFO, LogEvents.LOGIN_SUCCEEDED)));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.INFO, LogEvents.BALLOT_RECORDED)));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.INFO, null)));
+    }
+
+    @Test
+    void start_InvalidRatesLeaveFilterStoppedAndPassingEverything() {
+        // Arrange
+        EventSamplingFilter invalid = new EventSamplingFilter();
+        invalid.setContext(loggerContext);
+        invalid.setRates("vote.cast=0");
+
+        // Act
+        invalid.start();
+
+        // Assert
+        assertFalse(invalid.isStarted());
+        assertEquals(FilterReply.NEUTRAL, invalid.decide(event(Level.INFO, LogEvents.VOTE_CAST)));
+        assertEquals(FilterReply.NEUTRAL, invalid.decide(event(Level.INFO, LogEvents.VOTE_CAST)));
+    }
+
+    private LoggingEvent event(Level level, String eventType) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLevel(level);
+        event.setMessage("message");
+        if (eventType != null) {
+            event.addKeyValuePair(new KeyValuePair(LogEvents.EVENT, eventType));
+        }
+        return event;
+    }
+}
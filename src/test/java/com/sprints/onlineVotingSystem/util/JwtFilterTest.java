@@ -0,0 +1,104 @@
+package com.sprints.onlineVotingSystem.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtUtil jwtUtil;
+    private JwtFilter jwtFilter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(3600000);
+        jwtFilter = new JwtFilter(jwtUtil, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ValidToken_AuthenticatesAndTagsValid() throws Exception {
+        // Arrange
+        String token = jwtUtil.generateToken("voter@example.com", "VOTER");
+
+        // Act
+        MockHttpServletResponse response = filter(token);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals("voter@example.com", SecurityContextHolder.getContext().getAuthentication().getName());
+        assertEquals(1, verifyCount("valid"));
+    }
+
+    @Test
+    void doFilter_ExpiredToken_TagsExpired() throws Exception {
+        // Arrange
+        String token = newJwtUtil(-1000).generateToken("voter@example.com", "VOTER");
+
+        // Act
+        MockHttpServletResponse response = filter(token);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertEquals(1, verifyCount("expired"));
+    }
+
+    @Test
+    void doFilter_MalformedToken_TagsMalformed() throws Exception {
+        // Act
+        MockHttpServletResponse response = filter("malformed.token.here");
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertEquals(1, verifyCount("malformed"));
+    }
+
+    @Test
+    void doFilter_TamperedSignature_TagsInvalid() throws Exception {
+        // Arrange
+        String token = jwtUtil.generateToken("voter@example.com", "VOTER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act
+        MockHttpServletResponse response = filter(tampered);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertEquals(1, verifyCount("invalid"));
+        assertNull(meterRegistry.find("auth.jwt.verify").tag("outcome", "RuntimeException").timer());
+    }
+
+    private MockHttpServletResponse filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/voters/candidates");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        jwtFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private long verifyCount(String outcome) {
+        return meterRegistry.get("auth.jwt.verify").tag("outcome", outcome).timer().count();
+    }
+
+    private JwtUtil newJwtUtil(long expirationTime) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", "test-secret-key-for-testing-purposes-only");
+        ReflectionTestUtils.setField(util, "expirationTime", expirationTime);
+        ReflectionTestUtils.setField(util, "cacheMaxSize", 100L);
+        util.init();
+        return util;
+    }
+}
@@ -0,0 +1,80 @@
+package com.sprints.onlineVotingSystem.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(3600000);
+    }
+
+    @Test
+    void parse_ValidToken_ReturnsClaims() {
+        String token = jwtUtil.generateToken("voter@example.com", "VOTER");
+
+        Claims claims = jwtUtil.parse(token);
+
+        assertEquals("voter@example.com", claims.getSubject());
+        assertEquals("VOTER", claims.get("role", String.class));
+        assertEquals("voter@example.com", jwtUtil.extractUsername(token));
+        assertEquals("VOTER", jwtUtil.extractRole(token));
+        assertTrue(jwtUtil.validateToken(token));
+    }
+
+    @Test
+    void parse_SameTokenTwice_ReturnsCachedClaims() {
+        String token = jwtUtil.generateToken("voter@example.com", "VOTER");
+
+        assertSame(jwtUtil.parse(token), jwtUtil.parse(token));
+    }
+
+    @Test
+    void parse_TamperedToken_ThrowsInvalidToken() {
+        String token = jwtUtil.generateToken("voter@example.com", "VOTER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> jwtUtil.parse(tampered));
+        assertEquals("Invalid token", ex.getMessage());
+    }
+
+    @Test
+    void parse_TokenSignedWithOtherKey_ThrowsInvalidToken() {
+        JwtUtil otherUtil = newJwtUtil(3600000);
+        ReflectionTestUtils.setField(otherUtil, "secret", "another-secret-key-that-is-long-enough-for-hmac");
+        otherUtil.init();
+        String token = otherUtil.generateToken("voter@example.com", "VOTER");
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> jwtUtil.parse(token));
+        assertEquals("Invalid token", ex.getMessage());
+    }
+
+    @Test
+    void parse_ExpiredToken_ThrowsTokenExpired() {
+        JwtUtil expiringUtil = newJwtUtil(-1000);
+        String token = expiringUtil.generateToken("voter@example.com", "VOTER");
+
+        RuntimeException first = assertThrows(RuntimeException.class, () -> expiringUtil.parse(token));
+        RuntimeException second = assertThrows(RuntimeException.class, () -> expiringUtil.parse(token));
+        assertEquals("Token expired", first.getMessage());
+        assertEquals("Token expired", second.getMessage());
+        assertInstanceOf(ExpiredJwtException.class, first.getCause());
+    }
+
+    private JwtUtil newJwtUtil(long expirationTime) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", "test-secret-key-for-testing-purposes-only");
+        ReflectionTestUtils.setField(util, "expirationTime", expirationTime);
+        ReflectionTestUtils.setField(util, "cacheMaxSize", 100L);
+        util.init();
+        return util;
+    }
+}